@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.6"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com"
@@ -79,3 +80,8 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// Microbenchmarks live in src/jmh/java; run with ./gradlew jmh
+jmh {
+    jmhVersion = "1.37"
+}
@@ -0,0 +1,100 @@
+package com.qanunqapisi.config.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Compares parsing and signing an access token through the shared {@link JwtCodec} with the previous
+ * per-call approach, which derived the key and built a parser (or looked up a serializer) every time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtCodecBenchmark {
+    private JwtProperties properties;
+    private JwtCodec codec;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        properties = new JwtProperties();
+        properties.setIssuer("qanun-qapisi");
+        properties.setAudience("qanun-qapisi-app");
+        properties.setSecret("benchmark-secret-that-is-long-enough-for-hs256-signing");
+        properties.setAccessTokenValiditySeconds(900);
+        properties.setRefreshTokenValiditySeconds(86400);
+
+        codec = new JwtCodec(properties);
+        token = withClaims(codec.builder()).compact();
+    }
+
+    @Benchmark
+    public Claims parsePerRequest() {
+        SecretKey secretKey = Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+            .setSigningKey(secretKey)
+            .requireIssuer(properties.getIssuer())
+            .requireAudience(properties.getAudience())
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
+    }
+
+    @Benchmark
+    public Claims parseWithCodec() {
+        return codec.parse(token);
+    }
+
+    @Benchmark
+    public String signPerToken() {
+        return withClaims(Jwts.builder()
+            .setIssuer(properties.getIssuer())
+            .setAudience(properties.getAudience())
+            .signWith(Keys.hmacShaKeyFor(properties.getSecret().getBytes())))
+            .compact();
+    }
+
+    @Benchmark
+    public String signWithCodec() {
+        return withClaims(codec.builder()).compact();
+    }
+
+    private JwtBuilder withClaims(JwtBuilder builder) {
+        Instant now = Instant.now();
+        return builder
+            .setSubject("student@example.com")
+            .setIssuedAt(Date.from(now))
+            .setExpiration(Date.from(now.plusSeconds(properties.getAccessTokenValiditySeconds())))
+            .claim("userId", UUID.randomUUID().toString())
+            .claim("email", "student@example.com")
+            .claim("firstName", "Aysel")
+            .claim("lastName", "Mammadova")
+            .claim("isActive", true)
+            .claim("isPremium", false)
+            .claim("isVerified", true);
+    }
+}
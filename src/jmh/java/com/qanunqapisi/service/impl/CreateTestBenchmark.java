@@ -0,0 +1,127 @@
+package com.qanunqapisi.service.impl;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.qanunqapisi.QanunQapisiApplication;
+import com.qanunqapisi.config.jwt.AuthenticatedUser;
+import com.qanunqapisi.domain.Role;
+import com.qanunqapisi.domain.User;
+import com.qanunqapisi.dto.request.test.CreateAnswerRequest;
+import com.qanunqapisi.dto.request.test.CreateQuestionRequest;
+import com.qanunqapisi.dto.request.test.CreateTestRequest;
+import com.qanunqapisi.dto.response.test.TestDetailResponse;
+import com.qanunqapisi.repository.RoleRepository;
+import com.qanunqapisi.repository.UserRepository;
+import com.qanunqapisi.service.TestService;
+
+/**
+ * Measures {@link TestService#createTest} for a large test, whose questions and answers are written in JDBC
+ * batches. Unlike the other benchmarks this one runs against a real database: it starts the application
+ * context without the web server, so the datasource must be configured as for the application itself.
+ * Each created test is deleted again outside the measured time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class CreateTestBenchmark {
+    private static final int ANSWERS_PER_QUESTION = 4;
+
+    @Param({"1000"})
+    private int questionCount;
+
+    private ConfigurableApplicationContext context;
+    private TestService testService;
+    private UserRepository userRepository;
+    private User admin;
+    private CreateTestRequest request;
+    private UUID createdTestId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(QanunQapisiApplication.class)
+            .web(WebApplicationType.NONE)
+            .run();
+        testService = context.getBean(TestService.class);
+        userRepository = context.getBean(UserRepository.class);
+
+        Role role = context.getBean(RoleRepository.class).findByTitle("ADMIN").orElseThrow();
+        admin = userRepository.save(User.builder()
+            .roleId(role.getId())
+            .email("benchmark-" + UUID.randomUUID() + "@example.com")
+            .passwordHash("unused")
+            .firstName("Benchmark")
+            .lastName("Admin")
+            .isActive(true)
+            .isPremium(false)
+            .isVerified(true)
+            .failedLoginAttempts(0)
+            .verificationAttempts(0)
+            .pendingEmailAttempts(0)
+            .passwordResetAttempts(0)
+            .build());
+        AuthenticatedUser principal = AuthenticatedUser.of(admin, "ADMIN");
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        List<CreateQuestionRequest> questions = IntStream.range(0, questionCount)
+            .mapToObj(i -> new CreateQuestionRequest(
+                "CLOSED_SINGLE",
+                "Question " + i,
+                1,
+                i,
+                null,
+                IntStream.range(0, ANSWERS_PER_QUESTION)
+                    .mapToObj(j -> new CreateAnswerRequest("Answer " + j, j == 0, j, null))
+                    .toList(),
+                null))
+            .toList();
+        request = new CreateTestRequest("Benchmark " + questionCount, "Bulk creation benchmark", false, questions);
+    }
+
+    @Benchmark
+    public TestDetailResponse createTest() {
+        TestDetailResponse test = testService.createTest(request);
+        createdTestId = test.id();
+        return test;
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteCreatedTest() {
+        if (createdTestId != null) {
+            testService.deleteTest(createdTestId);
+            createdTestId = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        userRepository.delete(admin);
+        context.close();
+    }
+}
@@ -0,0 +1,103 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.qanunqapisi.config.scoring.ScoringProperties;
+import com.qanunqapisi.dto.response.test.AnswerResponse;
+
+/**
+ * Compares the bitmask scorers with the previous HashSet-based evaluation over a 100-question submission.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuestionScorerBenchmark {
+    private static final int QUESTION_COUNT = 100;
+
+    @Param({"CLOSED_SINGLE", "CLOSED_MULTIPLE"})
+    private String questionType;
+
+    @Param({"4", "8"})
+    private int answersPerQuestion;
+
+    private List<CompiledQuestion> questions;
+    private List<List<UUID>> selections;
+
+    @Setup
+    public void setUp() {
+        questions = new ArrayList<>(QUESTION_COUNT);
+        selections = new ArrayList<>(QUESTION_COUNT);
+        boolean multiple = "CLOSED_MULTIPLE".equals(questionType);
+        QuestionScorer scorer = multiple ? new MultipleChoiceScorer(new ScoringProperties()) : new SingleChoiceScorer();
+
+        for (int q = 0; q < QUESTION_COUNT; q++) {
+            List<AnswerResponse> answers = new ArrayList<>(answersPerQuestion);
+            List<UUID> correctIds = new ArrayList<>();
+            long correctMask = 0L;
+            for (int a = 0; a < answersPerQuestion; a++) {
+                boolean correct = a == 0 || (multiple && a == 2);
+                UUID answerId = UUID.randomUUID();
+                answers.add(new AnswerResponse(answerId, "Answer " + a, correct, a));
+                if (correct) {
+                    correctIds.add(answerId);
+                    correctMask |= 1L << a;
+                }
+            }
+            questions.add(new CompiledQuestion(UUID.randomUUID(), questionType, "Question " + q, 1, q,
+                null, List.copyOf(answers), List.copyOf(correctIds), correctMask, scorer));
+            // Every other submission is wrong so both outcomes are exercised
+            selections.add(q % 2 == 0 ? List.copyOf(correctIds) : List.of(answers.get(1).id()));
+        }
+    }
+
+    @Benchmark
+    public void bitmask(Blackhole blackhole) {
+        for (int i = 0; i < QUESTION_COUNT; i++) {
+            blackhole.consume(questions.get(i).evaluate(selections.get(i), null));
+        }
+    }
+
+    @Benchmark
+    public void hashSet(Blackhole blackhole) {
+        for (int i = 0; i < QUESTION_COUNT; i++) {
+            blackhole.consume(setBased(questions.get(i), selections.get(i)));
+        }
+    }
+
+    private static boolean setBased(CompiledQuestion question, List<UUID> selectedAnswerIds) {
+        if ("CLOSED_SINGLE".equals(question.questionType())) {
+            if (selectedAnswerIds == null || selectedAnswerIds.size() != 1) {
+                return false;
+            }
+            List<UUID> correctAnswerIds = question.correctAnswerIds();
+            return correctAnswerIds.size() == 1 && correctAnswerIds.get(0).equals(selectedAnswerIds.get(0));
+        }
+        if (selectedAnswerIds == null || selectedAnswerIds.isEmpty()) {
+            return false;
+        }
+        Set<UUID> correctIds = new HashSet<>(question.correctAnswerIds());
+        Set<UUID> selectedIds = new HashSet<>(selectedAnswerIds);
+        return correctIds.equals(selectedIds);
+    }
+}
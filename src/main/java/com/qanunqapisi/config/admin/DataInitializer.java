@@ -4,6 +4,8 @@ import com.qanunqapisi.domain.Role;
 import com.qanunqapisi.domain.User;
 import com.qanunqapisi.repository.RoleRepository;
 import com.qanunqapisi.repository.UserRepository;
+import com.qanunqapisi.service.auth.RoleRegistry;
+import com.qanunqapisi.util.AfterCommit;
 import com.qanunqapisi.util.Hasher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +23,7 @@ import java.util.List;
 public class DataInitializer implements ApplicationRunner {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final AdminProperties adminProperties;
     private final Hasher hasher;
 
@@ -35,6 +38,7 @@ public class DataInitializer implements ApplicationRunner {
                 log.info("Created role: {}", roleName);
             }
         }
+        AfterCommit.run(roleRegistry::refresh);
 
         String email = adminProperties.getEmail();
         if (userRepository.findByEmail(email).isEmpty()) {
@@ -0,0 +1,55 @@
+package com.qanunqapisi.config.jwt;
+
+import com.qanunqapisi.domain.User;
+import com.qanunqapisi.util.ErrorMessages;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal of a request authenticated with an access token, built from the token's claims so that
+ * services can tell who is calling without loading the user or their role. Admin changes to the role,
+ * premium flag or active state, and account deletion, revoke the tokens already issued, so the claims
+ * cannot outlive them.
+ */
+public record AuthenticatedUser(UUID id, String email, String role, boolean premium) implements UserDetails {
+    public static AuthenticatedUser of(User user, String role) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), role, Boolean.TRUE.equals(user.getIsPremium()));
+    }
+
+    /**
+     * @throws IllegalStateException if the current request is not authenticated with an access token
+     */
+    public static AuthenticatedUser current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new IllegalStateException(ErrorMessages.NOT_AUTHENTICATED);
+        }
+        return user;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -1,9 +1,8 @@
 package com.qanunqapisi.config.jwt;
 
-import com.qanunqapisi.domain.Role;
 import com.qanunqapisi.domain.User;
-import com.qanunqapisi.repository.RoleRepository;
 import com.qanunqapisi.repository.UserRepository;
+import com.qanunqapisi.service.auth.RoleRegistry;
 import com.qanunqapisi.util.ErrorMessages;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -19,20 +18,30 @@ import java.util.NoSuchElementException;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException(ErrorMessages.USER_NOT_FOUND));
 
-        Role role = roleRepository.findById(user.getRoleId())
+        String role = roleRegistry.findTitle(user.getRoleId())
             .orElseThrow(() -> new NoSuchElementException(ErrorMessages.ROLE_NOT_FOUND));
 
         return new org.springframework.security.core.userdetails.User(
             user.getEmail(),
             user.getPasswordHash(),
-            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.getTitle()))
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
         );
     }
+
+    public AuthenticatedUser loadAuthenticatedUser(String email) {
+        User user = userRepository.findByEmail(email)
+            .orElseThrow(() -> new UsernameNotFoundException(ErrorMessages.USER_NOT_FOUND));
+
+        String role = roleRegistry.findTitle(user.getRoleId())
+            .orElseThrow(() -> new NoSuchElementException(ErrorMessages.ROLE_NOT_FOUND));
+
+        return AuthenticatedUser.of(user, role);
+    }
 }
@@ -1,11 +1,10 @@
 package com.qanunqapisi.config.jwt;
 
-import com.qanunqapisi.repository.RevokedTokenRepository;
+import com.qanunqapisi.service.auth.RevocationIndex;
 import com.qanunqapisi.util.ErrorMessages;
+import com.qanunqapisi.util.TokenDigests;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,24 +12,20 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final JwtProperties jwtProperties;
-    private final UserDetailsService userDetailsService;
-    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtCodec jwtCodec;
+    private final CustomUserDetailsService userDetailsService;
+    private final RevocationIndex revocationIndex;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -41,46 +36,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.toLowerCase().startsWith("bearer ")) {
             String token = header.substring(header.indexOf(' ') + 1);
 
-            if (revokedTokenRepository.findByToken(token).isPresent()) {
-                throw new AuthenticationServiceException(ErrorMessages.ACCESS_TOKEN_REVOKED);
-            }
-
-            SecretKey secretKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
             Claims claims;
             try {
-                claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .requireIssuer(jwtProperties.getIssuer())
-                    .requireAudience(jwtProperties.getAudience())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+                claims = jwtCodec.parse(token);
             } catch (JwtException e) {
                 throw new AuthenticationServiceException(ErrorMessages.INVALID_ACCESS_TOKEN);
             }
 
+            if (revocationIndex.isRevoked(TokenDigests.ofAccessToken(claims, token))
+                || revocationIndex.isRevoked(userId(claims), claims.getIssuedAt())) {
+                throw new AuthenticationServiceException(ErrorMessages.ACCESS_TOKEN_REVOKED);
+            }
+
             String username = claims.getSubject();
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                @SuppressWarnings("unchecked")
-                List<String> roles = claims.get("roles", List.class);
-                UserDetails userDetails;
-                if (roles != null) {
-                    userDetails = new org.springframework.security.core.userdetails.User(
-                        username,
-                        "",
-                        roles.stream()
-                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                            .toList()
-                    );
-                } else {
-                    userDetails = userDetailsService.loadUserByUsername(username);
-                }
+                AuthenticatedUser principal = toPrincipal(claims, username);
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
+                    principal, null, principal.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private AuthenticatedUser toPrincipal(Claims claims, String username) {
+        @SuppressWarnings("unchecked")
+        List<String> roles = claims.get("roles", List.class);
+        if (roles == null || roles.isEmpty()) {
+            // Tokens issued before the roles claim was added
+            return userDetailsService.loadAuthenticatedUser(username);
+        }
+        return new AuthenticatedUser(
+            userId(claims),
+            username,
+            roles.get(0),
+            Boolean.TRUE.equals(claims.get("isPremium", Boolean.class))
+        );
+    }
+
+    private static UUID userId(Claims claims) {
+        String userId = claims.get("userId", String.class);
+        if (userId == null) {
+            throw new AuthenticationServiceException(ErrorMessages.INVALID_ACCESS_TOKEN);
+        }
+        return UUID.fromString(userId);
+    }
 }
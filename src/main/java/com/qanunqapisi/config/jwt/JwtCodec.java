@@ -0,0 +1,69 @@
+package com.qanunqapisi.config.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Serializer;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Signs and verifies access tokens. The signing key, the parser and the JSON serializer are built once:
+ * JJWT's parser is immutable and thread-safe, while its builders are not, so each token gets a fresh
+ * builder wired to the shared parts instead of deriving the key and looking up a serializer again.
+ */
+@Component
+public class JwtCodec {
+    private final JwtProperties jwtProperties;
+    private final SecretKey signingKey;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final Serializer<Map<String, ?>> serializer;
+    private final JwtParser parser;
+
+    public JwtCodec(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.signatureAlgorithm = SignatureAlgorithm.forSigningKey(signingKey);
+        this.serializer = loadSerializer();
+        this.parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .requireIssuer(jwtProperties.getIssuer())
+            .requireAudience(jwtProperties.getAudience())
+            .build();
+    }
+
+    /**
+     * @return a builder that already carries the issuer, audience and signing key; add claims and call
+     * {@link JwtBuilder#compact()}
+     */
+    public JwtBuilder builder() {
+        return Jwts.builder()
+            .serializeToJsonWith(serializer)
+            .signWith(signingKey, signatureAlgorithm)
+            .setIssuer(jwtProperties.getIssuer())
+            .setAudience(jwtProperties.getAudience());
+    }
+
+    /**
+     * @return the claims of a token signed with our key for our issuer and audience
+     * @throws JwtException if the token is malformed, expired or fails verification
+     */
+    public Claims parse(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Serializer<Map<String, ?>> loadSerializer() {
+        // JJWT would otherwise run this ServiceLoader lookup on every compact()
+        return ServiceLoader.load(Serializer.class).findFirst()
+            .orElseThrow(() -> new IllegalStateException("No JJWT JSON serializer on the classpath"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.qanunqapisi.config.regrade;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.regrade")
+@Validated
+@Data
+public class RegradeProperties {
+    /**
+     * Completed attempts regraded per chunk; each chunk commits in its own short transaction.
+     */
+    @Min(1)
+    private int chunkSize = 500;
+
+    /**
+     * Chunks regraded concurrently. Each one holds a pooled connection while it runs.
+     */
+    @Min(1)
+    private int parallelism = 4;
+
+    /**
+     * Seconds a running job may go without progress before another instance may take it over.
+     */
+    @Min(30)
+    private int leaseSeconds = 300;
+}
@@ -0,0 +1,35 @@
+package com.qanunqapisi.config.scoring;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.scoring")
+@Validated
+@Data
+public class ScoringProperties {
+    @NotNull
+    private MultipleChoiceMode closedMultipleMode = MultipleChoiceMode.ALL_OR_NOTHING;
+
+    /**
+     * Partial credit in {@link MultipleChoiceMode#PROPORTIONAL} and {@link MultipleChoiceMode#PENALTY} is
+     * rounded to the nearest whole point, halves up.
+     */
+    public enum MultipleChoiceMode {
+        /**
+         * Full score only when exactly the correct answers are selected.
+         */
+        ALL_OR_NOTHING,
+        /**
+         * Share of correct answers selected; any wrong pick scores zero.
+         */
+        PROPORTIONAL,
+        /**
+         * Each wrong pick cancels one correct pick; never below zero.
+         */
+        PENALTY
+    }
+}
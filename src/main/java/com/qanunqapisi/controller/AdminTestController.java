@@ -1,12 +1,18 @@
 package com.qanunqapisi.controller;
 
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -19,15 +25,27 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.qanunqapisi.dto.request.page.CursorPageRequest;
 import com.qanunqapisi.dto.request.test.CreateTestRequest;
 import com.qanunqapisi.dto.request.test.UpdateTestRequest;
+import com.qanunqapisi.dto.response.admin.RegradeJobResponse;
+import com.qanunqapisi.dto.response.admin.TestImportResponse;
 import com.qanunqapisi.dto.response.admin.TestAttemptAdminResponse;
 import com.qanunqapisi.dto.response.error.ErrorResponse;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
+import com.qanunqapisi.dto.response.test.QuestionSearchResponse;
+import com.qanunqapisi.dto.response.test.QuestionStatsResponse;
 import com.qanunqapisi.dto.response.test.TestDetailResponse;
 import com.qanunqapisi.dto.response.test.TestResponse;
+import com.qanunqapisi.service.RegradeService;
+import com.qanunqapisi.service.ResultExportService;
 import com.qanunqapisi.service.TestAttemptService;
 import com.qanunqapisi.service.TestService;
+import com.qanunqapisi.service.TestTransferService;
+import com.qanunqapisi.service.export.ExportFormat;
+import static com.qanunqapisi.util.ErrorMessages.INVALID_SORT_FIELD;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -38,6 +56,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -48,8 +68,14 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Admin: Tests", description = "Admin endpoints for test management")
 @SecurityRequirement(name = "bearerAuth")
 public class AdminTestController {
+    private static final Set<String> RESULT_SORT_FIELDS = Set.of("submittedAt", "totalScore", "startedAt");
+    private static final Set<String> TEST_SCROLL_SORT_FIELDS = Set.of("createdAt", "title");
+
     private final TestService testService;
     private final TestAttemptService testAttemptService;
+    private final ResultExportService resultExportService;
+    private final RegradeService regradeService;
+    private final TestTransferService testTransferService;
 
     @PostMapping
     @Operation(summary = "Create test", description = "Creates a new test with optional questions and answers")
@@ -126,6 +152,50 @@ public class AdminTestController {
         return ResponseEntity.ok(testService.listTests(status, isPremium, pageable));
     }
 
+    @GetMapping("/scroll")
+    @Operation(
+        summary = "Scroll tests",
+        description = "Lists tests by cursor. Pass the returned nextCursor to get the following page; the total is only counted on request"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tests retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort field, cursor or page size", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<CursorPageResponse<TestResponse>> scrollTests(
+        @Parameter(description = "Filter by status (DRAFT/PUBLISHED)") @RequestParam(required = false) String status,
+        @Parameter(description = "Filter by premium flag") @RequestParam(required = false) Boolean isPremium,
+        @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "50") @Min(1) @Max(100) int size,
+        @Parameter(description = "Sort field (createdAt, title)") @RequestParam(defaultValue = "createdAt") String sortBy,
+        @Parameter(description = "Sort direction (ASC/DESC)") @RequestParam(defaultValue = "DESC") String sortDir,
+        @Parameter(description = "Also count all matching tests") @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        if (!TEST_SCROLL_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException(INVALID_SORT_FIELD);
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        CursorPageRequest request = new CursorPageRequest(sortBy, direction, size, cursor, includeTotal);
+
+        return ResponseEntity.ok(testService.scrollTests(status, isPremium, request));
+    }
+
+    @GetMapping("/questions/search")
+    @Operation(summary = "Search questions", description = "Searches question text across all tests, best matches first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Questions retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Blank query or invalid cursor", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<CursorPageResponse<QuestionSearchResponse>> searchQuestions(
+        @Parameter(description = "Search text") @RequestParam String q,
+        @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(testService.searchQuestions(q, cursor, Math.min(size, 100)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get test details", description = "Retrieves detailed information about a specific test")
     @ApiResponses(value = {
@@ -145,6 +215,7 @@ public class AdminTestController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Test results retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort field", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "404", description = "Test not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
@@ -153,13 +224,153 @@ public class AdminTestController {
         @Parameter(description = "Test ID") @PathVariable UUID id,
         @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
         @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "50") int size,
-        @Parameter(description = "Sort field") @RequestParam(defaultValue = "submittedAt") String sortBy,
+        @Parameter(description = "Sort field (submittedAt, totalScore, startedAt)") @RequestParam(defaultValue = "submittedAt") String sortBy,
         @Parameter(description = "Sort direction (ASC/DESC)") @RequestParam(defaultValue = "DESC") String sortDir) {
 
+        if (!RESULT_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException(INVALID_SORT_FIELD);
+        }
+        // Sorting is limited to columns backed by the (test_id, status, ...) indexes; id keeps pages stable on ties
         Sort sort = sortDir.equalsIgnoreCase("ASC") ?
             Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        Pageable pageable = PageRequest.of(page, Math.min(size, 100), sort);
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100), sort.and(Sort.by("id")));
 
         return ResponseEntity.ok(testAttemptService.getTestResultsForAdmin(id, pageable));
     }
+
+    @GetMapping("/{id}/results/scroll")
+    @Operation(
+        summary = "Scroll test results",
+        description = "Lists completed test attempts by cursor, for paging through large result sets (Admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Test results retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort field, cursor or page size", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Test not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<CursorPageResponse<TestAttemptAdminResponse>> scrollTestResults(
+        @Parameter(description = "Test ID") @PathVariable UUID id,
+        @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "50") @Min(1) @Max(100) int size,
+        @Parameter(description = "Sort field (submittedAt, totalScore, startedAt)") @RequestParam(defaultValue = "submittedAt") String sortBy,
+        @Parameter(description = "Sort direction (ASC/DESC)") @RequestParam(defaultValue = "DESC") String sortDir,
+        @Parameter(description = "Also count all completed attempts") @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        if (!RESULT_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException(INVALID_SORT_FIELD);
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        CursorPageRequest request = new CursorPageRequest(sortBy, direction, size, cursor, includeTotal);
+
+        return ResponseEntity.ok(testAttemptService.scrollTestResultsForAdmin(id, request));
+    }
+
+    @GetMapping("/{id}/question-stats")
+    @Operation(
+        summary = "Get question statistics",
+        description = "Retrieves per-question difficulty and answer selection frequencies for a test (Admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Question statistics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Test not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<List<QuestionStatsResponse>> getQuestionStatistics(@Parameter(description = "Test ID") @PathVariable UUID id) {
+        return ResponseEntity.ok(testAttemptService.getQuestionStatistics(id));
+    }
+
+    @GetMapping("/{id}/results/export")
+    @Operation(
+        summary = "Export test results",
+        description = "Streams all completed attempts for a test as CSV or NDJSON, optionally with per-question answers (Admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Test not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportTestResults(
+        @Parameter(description = "Test ID") @PathVariable UUID id,
+        @Parameter(description = "Export format (CSV/NDJSON)") @RequestParam(defaultValue = "CSV") ExportFormat format,
+        @Parameter(description = "Include per-question answers") @RequestParam(defaultValue = "false") boolean includeAnswers) {
+
+        StreamingResponseBody body = resultExportService.exportResults(id, format, includeAnswers);
+        String filename = "test-" + id + "-results." + format.extension();
+
+        return ResponseEntity.ok()
+            .contentType(format.mediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+
+    @GetMapping("/{id}/export")
+    @Operation(
+        summary = "Export test",
+        description = "Streams a test with its questions and answers as NDJSON, in the format accepted by import (Admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Test not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportTest(@Parameter(description = "Test ID") @PathVariable UUID id) {
+        StreamingResponseBody body = testTransferService.exportTest(id);
+        String filename = "test-" + id + ".ndjson";
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Import tests",
+        description = "Creates draft tests from an NDJSON stream. Nothing is imported if any line is invalid (Admin only)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Tests imported successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid lines, listed by line number in details", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<TestImportResponse> importTests(InputStream body) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(testTransferService.importTests(body));
+    }
+
+    @PostMapping("/{id}/regrade-jobs")
+    @Operation(
+        summary = "Regrade test",
+        description = "Starts a background job that regrades all completed attempts against the test's published answer key"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Regrade job started"),
+        @ApiResponse(responseCode = "400", description = "Test not published or its questions changed", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Test not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "409", description = "Test already being regraded", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<RegradeJobResponse> startRegrade(@Parameter(description = "Test ID") @PathVariable UUID id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(regradeService.startRegrade(id));
+    }
+
+    @GetMapping("/{id}/regrade-jobs/{jobId}")
+    @Operation(summary = "Get regrade job", description = "Retrieves the status and progress of a regrade job")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Regrade job retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Regrade job not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<RegradeJobResponse> getRegradeJob(
+        @Parameter(description = "Test ID") @PathVariable UUID id,
+        @Parameter(description = "Regrade job ID") @PathVariable UUID jobId) {
+        return ResponseEntity.ok(regradeService.getRegradeJob(id, jobId));
+    }
 }
@@ -2,8 +2,10 @@ package com.qanunqapisi.controller;
 
 import com.qanunqapisi.dto.request.admin.CreateUserRequest;
 import com.qanunqapisi.dto.request.admin.UpdateUserRequest;
+import com.qanunqapisi.dto.request.page.CursorPageRequest;
 import com.qanunqapisi.dto.response.admin.AdminUserResponse;
 import com.qanunqapisi.dto.response.error.ErrorResponse;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
 import com.qanunqapisi.service.AdminUserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +16,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -25,8 +29,11 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
 import java.util.UUID;
 
+import static com.qanunqapisi.util.ErrorMessages.INVALID_SORT_FIELD;
+
 @RestController
 @RequestMapping("/api/v1/admin/users")
 @Validated
@@ -35,6 +42,8 @@ import java.util.UUID;
 @Tag(name = "Admin: Users", description = "Admin endpoints for user management")
 @SecurityRequirement(name = "bearerAuth")
 public class AdminUserController {
+    private static final Set<String> SCROLL_SORT_FIELDS = Set.of("createdAt", "email");
+
     private final AdminUserService adminUserService;
 
     @GetMapping
@@ -61,6 +70,37 @@ public class AdminUserController {
         return ResponseEntity.ok(adminUserService.listUsers(role, isActive, isVerified, search, pageable));
     }
 
+    @GetMapping("/scroll")
+    @Operation(
+        summary = "Scroll users",
+        description = "Lists users by cursor. Pass the returned nextCursor to get the following page; the total is only counted on request"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort field, cursor or page size", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<CursorPageResponse<AdminUserResponse>> scrollUsers(
+        @Parameter(description = "Filter by role (ADMIN/CUSTOMER)") @RequestParam(required = false) String role,
+        @Parameter(description = "Filter by active status") @RequestParam(required = false) Boolean isActive,
+        @Parameter(description = "Filter by verified status") @RequestParam(required = false) Boolean isVerified,
+        @Parameter(description = "Search by email, first name, or last name") @RequestParam(required = false) String search,
+        @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "50") @Min(1) @Max(100) int size,
+        @Parameter(description = "Sort field (createdAt, email)") @RequestParam(defaultValue = "createdAt") String sortBy,
+        @Parameter(description = "Sort direction (ASC/DESC)") @RequestParam(defaultValue = "DESC") String sortDir,
+        @Parameter(description = "Also count all matching users") @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        if (!SCROLL_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException(INVALID_SORT_FIELD);
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        CursorPageRequest request = new CursorPageRequest(sortBy, direction, size, cursor, includeTotal);
+
+        return ResponseEntity.ok(adminUserService.scrollUsers(role, isActive, isVerified, search, request));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user details", description = "Retrieves detailed information about a specific user")
     @ApiResponses(value = {
@@ -3,10 +3,11 @@ package com.qanunqapisi.controller;
 import java.util.List;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.qanunqapisi.dto.request.test.SubmitTestRequest;
 import com.qanunqapisi.dto.response.error.ErrorResponse;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
 import com.qanunqapisi.dto.response.test.TestAttemptResponse;
 import com.qanunqapisi.dto.response.test.TestDetailResponse;
 import com.qanunqapisi.dto.response.test.TestResponse;
@@ -26,6 +28,7 @@ import com.qanunqapisi.dto.response.test.TestResultResponse;
 import com.qanunqapisi.dto.response.test.TestStatisticsResponse;
 import com.qanunqapisi.service.TestAttemptService;
 import com.qanunqapisi.service.TestService;
+import com.qanunqapisi.util.JsonSnapshot;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -52,9 +55,10 @@ public class TestController {
     @Operation(summary = "List published tests", description = "Lists all published tests (both premium and non-premium). Non-premium users can see premium tests in the list but cannot view details or take them.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Tests retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Tests not modified"),
         @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<Page<TestResponse>> listPublishedTests(
+    public ResponseEntity<byte[]> listPublishedTests(
         @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
         @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size,
         @Parameter(description = "Sort field") @RequestParam(defaultValue = "publishedAt") String sortBy,
@@ -64,19 +68,34 @@ public class TestController {
             Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, Math.min(size, 100), sort);
 
-        return ResponseEntity.ok(testService.listPublishedTestsForUser(pageable));
+        return catalogResponse(testService.listPublishedTestsJson(pageable));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search published tests", description = "Searches published tests by title and description, best matches first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tests retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Blank query or invalid cursor", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<CursorPageResponse<TestResponse>> searchTests(
+        @Parameter(description = "Search text") @RequestParam String q,
+        @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(testService.searchPublishedTests(q, cursor, Math.min(size, 100)));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get test details", description = "Retrieves detailed information about a published test")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Test retrieved successfully"),
+        @ApiResponse(responseCode = "200", description = "Test retrieved successfully", content = @Content(schema = @Schema(implementation = TestDetailResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Test not modified"),
         @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "403", description = "Premium test requires subscription", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "404", description = "Test not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<TestDetailResponse> getTest(@Parameter(description = "Test ID") @PathVariable UUID id) {
-        return ResponseEntity.ok(testService.getTestForUser(id));
+    public ResponseEntity<byte[]> getTest(@Parameter(description = "Test ID") @PathVariable UUID id) {
+        return catalogResponse(testService.getTestForUserJson(id));
     }
 
     @PostMapping("/{id}/start")
@@ -117,14 +136,25 @@ public class TestController {
     }
 
     @GetMapping("/attempts/{attemptId}")
-    @Operation(summary = "Get attempt results", description = "Retrieves detailed results of a completed test attempt")
+    @Operation(
+        summary = "Get attempt results",
+        description = "Retrieves detailed results of a completed test attempt. Results change only when an admin regrades " +
+            "the test, so responses carry a strong ETag and must be revalidated; If-None-Match yields 304"
+    )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Results retrieved successfully"),
+        @ApiResponse(responseCode = "200", description = "Results retrieved successfully", content = @Content(schema = @Schema(implementation = TestResultResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Results not modified"),
         @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "404", description = "Attempt not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public ResponseEntity<TestResultResponse> getAttemptResults(@Parameter(description = "Attempt ID") @PathVariable UUID attemptId) {
-        return ResponseEntity.ok(testAttemptService.getAttemptResults(attemptId));
+    public ResponseEntity<byte[]> getAttemptResults(@Parameter(description = "Attempt ID") @PathVariable UUID attemptId) {
+        JsonSnapshot results = testAttemptService.getAttemptResultsJson(attemptId);
+        // A regrade rewrites scores, so clients revalidate; the ETag hashes the body, so unchanged results yield 304
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(results.etag())
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(results.body());
     }
 
     @GetMapping("/{id}/statistics")
@@ -140,4 +170,13 @@ public class TestController {
     public ResponseEntity<TestStatisticsResponse> getTestStatistics(@Parameter(description = "Test ID") @PathVariable UUID id) {
         return ResponseEntity.ok(testAttemptService.getTestStatistics(id));
     }
+
+    private ResponseEntity<byte[]> catalogResponse(JsonSnapshot snapshot) {
+        // Catalog content changes when an admin edits a test, so clients must revalidate; a matching ETag yields 304
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(snapshot.etag())
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(snapshot.body());
+    }
 }
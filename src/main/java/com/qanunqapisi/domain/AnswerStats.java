@@ -0,0 +1,35 @@
+package com.qanunqapisi.domain;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of times an answer option was selected. Rows are written by {@code QuestionStatsAggregator}.
+ */
+@Entity
+@Table(name = "answer_stats")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnswerStats extends BaseEntity {
+    @Id
+    @Column(name = "answer_id")
+    private UUID answerId;
+
+    @Column(name = "question_id", nullable = false)
+    private UUID questionId;
+
+    @Column(name = "selection_count", nullable = false)
+    private Long selectionCount;
+}
@@ -0,0 +1,41 @@
+package com.qanunqapisi.domain;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Item analytics of a question. Rows are written by {@code QuestionStatsAggregator}.
+ */
+@Entity
+@Table(name = "question_stats")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionStats extends BaseEntity {
+    @Id
+    @Column(name = "question_id")
+    private UUID questionId;
+
+    @Column(name = "test_id", nullable = false)
+    private UUID testId;
+
+    @Column(name = "correct_count", nullable = false)
+    private Long correctCount;
+
+    @Column(name = "incorrect_count", nullable = false)
+    private Long incorrectCount;
+
+    @Column(name = "skipped_count", nullable = false)
+    private Long skippedCount;
+}
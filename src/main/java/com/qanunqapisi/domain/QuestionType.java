@@ -0,0 +1,25 @@
+package com.qanunqapisi.domain;
+
+/**
+ * Question types stored in {@code questions.question_type}.
+ */
+public enum QuestionType {
+    CLOSED_SINGLE,
+    CLOSED_MULTIPLE,
+    OPEN_TEXT;
+
+    /**
+     * Resolves a stored type name, returning {@code null} for unknown values.
+     */
+    public static QuestionType fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (QuestionType type : values()) {
+            if (type.name().equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
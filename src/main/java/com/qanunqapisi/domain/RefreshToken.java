@@ -21,8 +21,8 @@ public class RefreshToken extends BaseEntity {
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
-    @Column(name = "token", nullable = false, unique = true)
-    private String token;
+    @Column(name = "token_hash", nullable = false, unique = true, length = 16)
+    private byte[] tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -0,0 +1,62 @@
+package com.qanunqapisi.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "regrade_jobs")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RegradeJob extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "test_id", nullable = false, updatable = false)
+    private UUID testId;
+
+    @Column(name = "test_version_id", nullable = false, updatable = false)
+    private UUID testVersionId;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "total_attempts", nullable = false)
+    private Integer totalAttempts;
+
+    @Column(name = "processed_attempts", nullable = false)
+    private Integer processedAttempts;
+
+    @Column(name = "changed_attempts", nullable = false)
+    private Integer changedAttempts;
+
+    @Column(name = "last_submitted_at")
+    private LocalDateTime lastSubmittedAt;
+
+    @Column(name = "last_attempt_id")
+    private UUID lastAttemptId;
+
+    @Column(name = "owner_id")
+    private UUID ownerId;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_by")
+    private UUID createdBy;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -21,8 +21,12 @@ public class RevokedToken extends BaseEntity {
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
-    @Column(name = "token", nullable = false, unique = true, length = 1000)
-    private String token;
+    /**
+     * Digest of the revoked token, or {@code null} to revoke every token issued to the user before
+     * {@code createdAt}.
+     */
+    @Column(name = "token_hash", unique = true, length = 16)
+    private byte[] tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -39,6 +39,21 @@ public class Test extends BaseEntity {
     @Column(name = "total_possible_score", nullable = false)
     private Integer totalPossibleScore;
 
+    @Column(name = "closed_single_count", nullable = false)
+    private Integer closedSingleCount;
+
+    @Column(name = "closed_multiple_count", nullable = false)
+    private Integer closedMultipleCount;
+
+    @Column(name = "open_text_count", nullable = false)
+    private Integer openTextCount;
+
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
+
+    @Column(name = "published_version_id")
+    private UUID publishedVersionId;
+
+    @Column(name = "has_unpublished_changes", nullable = false)
+    private Boolean hasUnpublishedChanges;
 }
@@ -2,12 +2,18 @@ package com.qanunqapisi.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Updates write only the changed columns, so a submit does not overwrite a test_version_id that a regrade
+ * repinned in the meantime.
+ */
 @Entity
 @Table(name = "test_attempts")
+@DynamicUpdate
 @Data
 @EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
@@ -24,6 +30,9 @@ public class TestAttempt extends BaseEntity {
     @Column(name = "test_id", nullable = false)
     private UUID testId;
 
+    @Column(name = "test_version_id")
+    private UUID testVersionId;
+
     @Column(name = "total_score", nullable = false)
     private Integer totalScore;
 
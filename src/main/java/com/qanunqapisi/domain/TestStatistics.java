@@ -0,0 +1,56 @@
+package com.qanunqapisi.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running score aggregates of a test. Rows are only written through
+ * {@code TestStatisticsRepository.recordAttempt} so concurrent submissions never lose updates.
+ */
+@Entity
+@Table(name = "test_statistics")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TestStatistics extends BaseEntity {
+    @Id
+    @Column(name = "test_id")
+    private UUID testId;
+
+    @Column(name = "attempt_count", nullable = false)
+    private Long attemptCount;
+
+    @Column(name = "participant_count", nullable = false)
+    private Long participantCount;
+
+    @Column(name = "score_sum", nullable = false)
+    private Long scoreSum;
+
+    @Column(name = "score_sum_squares", nullable = false)
+    private Long scoreSumSquares;
+
+    @Column(name = "min_score")
+    private Integer minScore;
+
+    @Column(name = "max_score")
+    private Integer maxScore;
+
+    @Column(name = "histogram", nullable = false)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private List<Long> histogram;
+}
@@ -0,0 +1,44 @@
+package com.qanunqapisi.domain;
+
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Immutable snapshot of a test's content. The snapshot column holds a serialized {@code TestSnapshot}.
+ */
+@Entity
+@Table(name = "test_versions")
+@Data
+@EqualsAndHashCode(callSuper = false)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TestVersion extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "test_id", nullable = false, updatable = false)
+    private UUID testId;
+
+    @Column(name = "version_number", nullable = false, updatable = false)
+    private Integer versionNumber;
+
+    @Column(name = "snapshot", nullable = false, updatable = false, columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String snapshot;
+}
@@ -0,0 +1,16 @@
+package com.qanunqapisi.dto.request.page;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * A keyset page request. {@code cursor} is the {@code nextCursor} of the previous page, or null for
+ * the first page, and is only valid with the sort it was issued for.
+ */
+public record CursorPageRequest(
+    String sortBy,
+    Sort.Direction direction,
+    int size,
+    String cursor,
+    boolean includeTotal
+) {
+}
@@ -3,6 +3,8 @@ package com.qanunqapisi.dto.request.test;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.UUID;
+
 public record CreateAnswerRequest(
     @NotBlank(message = "Answer text is required")
     String answerText,
@@ -10,6 +12,8 @@ public record CreateAnswerRequest(
     @NotNull(message = "isCorrect flag is required")
     Boolean isCorrect,
 
-    Integer orderIndex
+    Integer orderIndex,
+
+    UUID id
 ) {
 }
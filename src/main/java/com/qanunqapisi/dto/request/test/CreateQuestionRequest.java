@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 
 import java.util.List;
+import java.util.UUID;
 
 public record CreateQuestionRequest(
     @NotNull(message = "Question type is required")
@@ -25,6 +26,8 @@ public record CreateQuestionRequest(
     String correctAnswer,
 
     @Valid
-    List<CreateAnswerRequest> answers
+    List<CreateAnswerRequest> answers,
+
+    UUID id
 ) {
 }
@@ -0,0 +1,19 @@
+package com.qanunqapisi.dto.response.admin;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RegradeJobResponse(
+    UUID id,
+    UUID testId,
+    UUID testVersionId,
+    String status,
+    Integer totalAttempts,
+    Integer processedAttempts,
+    Integer changedAttempts,
+    String errorMessage,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    LocalDateTime createdAt
+) {
+}
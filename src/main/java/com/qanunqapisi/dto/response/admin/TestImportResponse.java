@@ -0,0 +1,11 @@
+package com.qanunqapisi.dto.response.admin;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TestImportResponse(
+    List<UUID> testIds,
+    Integer questionsImported,
+    Integer answersImported
+) {
+}
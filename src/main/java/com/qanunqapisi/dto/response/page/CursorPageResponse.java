@@ -0,0 +1,11 @@
+package com.qanunqapisi.dto.response.page;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+    List<T> content,
+    String nextCursor,
+    boolean hasNext,
+    Long totalElements
+) {
+}
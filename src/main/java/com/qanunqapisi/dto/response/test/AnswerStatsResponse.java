@@ -0,0 +1,12 @@
+package com.qanunqapisi.dto.response.test;
+
+import java.util.UUID;
+
+public record AnswerStatsResponse(
+    UUID answerId,
+    String answerText,
+    Boolean isCorrect,
+    Long selectionCount,
+    Double selectionRate
+) {
+}
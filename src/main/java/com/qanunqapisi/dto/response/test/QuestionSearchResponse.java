@@ -0,0 +1,13 @@
+package com.qanunqapisi.dto.response.test;
+
+import java.util.UUID;
+
+public record QuestionSearchResponse(
+    UUID id,
+    UUID testId,
+    String testTitle,
+    String questionType,
+    String questionText,
+    Integer orderIndex
+) {
+}
@@ -0,0 +1,22 @@
+package com.qanunqapisi.dto.response.test;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Item analytics of a question. {@code correctRate} is the share of responses that earned the full score
+ * (the question's difficulty index); {@code selectionRate} of an answer is relative to {@code totalResponses}.
+ */
+public record QuestionStatsResponse(
+    UUID questionId,
+    Integer orderIndex,
+    String questionType,
+    String questionText,
+    Long totalResponses,
+    Long correctCount,
+    Long incorrectCount,
+    Long skippedCount,
+    Double correctRate,
+    List<AnswerStatsResponse> answers
+) {
+}
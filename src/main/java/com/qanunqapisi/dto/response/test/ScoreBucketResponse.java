@@ -0,0 +1,12 @@
+package com.qanunqapisi.dto.response.test;
+
+/**
+ * Number of attempts whose score falls in [fromPercent, toPercent) of the max possible score;
+ * the last bucket includes 100%.
+ */
+public record ScoreBucketResponse(
+    int fromPercent,
+    int toPercent,
+    long count
+) {
+}
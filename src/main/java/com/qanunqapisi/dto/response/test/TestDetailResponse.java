@@ -14,6 +14,7 @@ public record TestDetailResponse(
     Integer totalPossibleScore,
     Integer estimatedMinutes,
     LocalDateTime publishedAt,
+    Boolean hasUnpublishedChanges,
     List<QuestionResponse> questions,
     List<QuestionTypeCount> questionTypeCounts,
     LocalDateTime createdAt,
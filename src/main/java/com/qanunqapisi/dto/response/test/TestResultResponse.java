@@ -4,14 +4,25 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Results of a completed attempt. {@code percentileRank} is the percentage of other completed attempts
+ * of the test that scored lower; it is only reported in the submission response and is {@code null}
+ * when no other attempts exist or when results are fetched later.
+ */
 public record TestResultResponse(
     UUID attemptId,
     UUID testId,
     String testTitle,
     Integer totalScore,
     Integer maxPossibleScore,
+    Double percentileRank,
     LocalDateTime startedAt,
     LocalDateTime submittedAt,
     List<QuestionResultResponse> questionResults
 ) {
+    public TestResultResponse withPercentileRank(Double percentileRank) {
+        return new TestResultResponse(
+            attemptId, testId, testTitle, totalScore, maxPossibleScore, percentileRank, startedAt, submittedAt, questionResults
+        );
+    }
 }
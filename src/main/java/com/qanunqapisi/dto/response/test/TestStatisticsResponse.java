@@ -1,10 +1,23 @@
 package com.qanunqapisi.dto.response.test;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Score statistics of a test over all completed attempts. Percentiles are estimated from the
+ * score distribution and expressed as a percentage of the max possible score.
+ */
 public record TestStatisticsResponse(
     UUID testId,
     String testTitle,
-    Long totalParticipants
+    Long totalParticipants,
+    Long totalAttempts,
+    Double averageScore,
+    Double scoreStandardDeviation,
+    Integer minScore,
+    Integer maxScore,
+    Map<String, Double> scorePercentiles,
+    List<ScoreBucketResponse> scoreDistribution
 ) {
 }
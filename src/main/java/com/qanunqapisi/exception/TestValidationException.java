@@ -0,0 +1,18 @@
+package com.qanunqapisi.exception;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TestValidationException extends IllegalStateException {
+    private final Map<String, String> violations;
+
+    public TestValidationException(String message, Map<String, String> violations) {
+        super(message);
+        this.violations = Collections.unmodifiableMap(new LinkedHashMap<>(violations));
+    }
+
+    public Map<String, String> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,15 @@
+package com.qanunqapisi.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.qanunqapisi.domain.AnswerStats;
+
+@Repository
+public interface AnswerStatsRepository extends JpaRepository<AnswerStats, UUID> {
+    List<AnswerStats> findByQuestionIdIn(Collection<UUID> questionIds);
+}
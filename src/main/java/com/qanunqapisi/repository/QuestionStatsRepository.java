@@ -0,0 +1,14 @@
+package com.qanunqapisi.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.qanunqapisi.domain.QuestionStats;
+
+@Repository
+public interface QuestionStatsRepository extends JpaRepository<QuestionStats, UUID> {
+    List<QuestionStats> findByTestId(UUID testId);
+}
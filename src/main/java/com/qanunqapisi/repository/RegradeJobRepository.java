@@ -0,0 +1,20 @@
+package com.qanunqapisi.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.qanunqapisi.domain.RegradeJob;
+
+@Repository
+public interface RegradeJobRepository extends JpaRepository<RegradeJob, UUID> {
+    Optional<RegradeJob> findByIdAndTestId(UUID id, UUID testId);
+
+    boolean existsByTestIdAndStatusIn(UUID testId, Collection<String> statuses);
+
+    List<RegradeJob> findByStatusIn(Collection<String> statuses);
+}
@@ -1,21 +1,19 @@
 package com.qanunqapisi.repository;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 
 import com.qanunqapisi.domain.RevokedToken;
 
 @Repository
 public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
-    Optional<RevokedToken> findByToken(String token);
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime dateTime);
 
-    void deleteByExpiresAtBefore(LocalDateTime dateTime);
+    List<RevokedToken> findByCreatedAtAfter(LocalDateTime dateTime);
 
-    @Modifying
-    void deleteByUserId(UUID userId);
+    void deleteByExpiresAtBefore(LocalDateTime dateTime);
 }
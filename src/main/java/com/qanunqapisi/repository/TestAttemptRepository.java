@@ -7,13 +7,20 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.qanunqapisi.domain.TestAttempt;
+import com.qanunqapisi.dto.response.admin.TestAttemptAdminResponse;
+
+import jakarta.persistence.LockModeType;
 
 @Repository
-public interface TestAttemptRepository extends JpaRepository<TestAttempt, UUID> {
+public interface TestAttemptRepository extends JpaRepository<TestAttempt, UUID>, JpaSpecificationExecutor<TestAttempt> {
     List<TestAttempt> findByUserId(UUID userId);
 
     Page<TestAttempt> findByUserId(UUID userId, Pageable pageable);
@@ -24,9 +31,38 @@ public interface TestAttemptRepository extends JpaRepository<TestAttempt, UUID>
 
     List<TestAttempt> findByUserIdAndTestIdAndStatusOrderByStartedAtDesc(UUID userId, UUID testId, String status);
 
+    /**
+     * Same as {@link #findByUserIdAndTestIdAndStatusOrderByStartedAtDesc} but locks the rows until the transaction
+     * ends, so concurrent submits of the same user's attempts run one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM TestAttempt a WHERE a.userId = :userId AND a.testId = :testId AND a.status = :status " +
+        "ORDER BY a.startedAt DESC")
+    List<TestAttempt> lockByUserIdAndTestIdAndStatus(
+        @Param("userId") UUID userId,
+        @Param("testId") UUID testId,
+        @Param("status") String status
+    );
+
     Page<TestAttempt> findByTestIdAndStatus(UUID testId, String status, Pageable pageable);
 
-    long countDistinctUserIdByTestId(UUID testId);
+    @Query(
+        value = "SELECT new com.qanunqapisi.dto.response.admin.TestAttemptAdminResponse(" +
+            "a.id, u.id, u.email, u.firstName, u.lastName, a.totalScore, a.maxPossibleScore, a.status, a.startedAt, a.submittedAt) " +
+            "FROM TestAttempt a JOIN User u ON u.id = a.userId " +
+            "WHERE a.testId = :testId AND a.status = :status",
+        countQuery = "SELECT COUNT(a) FROM TestAttempt a WHERE a.testId = :testId AND a.status = :status"
+    )
+    Page<TestAttemptAdminResponse> findAdminResultsByTestIdAndStatus(
+        @Param("testId") UUID testId,
+        @Param("status") String status,
+        Pageable pageable
+    );
+
+    long countByTestIdAndStatus(UUID testId, String status);
+
+    @Query("SELECT DISTINCT a.testVersionId FROM TestAttempt a WHERE a.testId = :testId AND a.status = :status")
+    List<UUID> findVersionIdsByTestIdAndStatus(@Param("testId") UUID testId, @Param("status") String status);
 
     long count();
 
@@ -1,12 +1,17 @@
 package com.qanunqapisi.repository;
 
 import com.qanunqapisi.domain.Test;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -18,4 +23,11 @@ public interface TestRepository extends JpaRepository<Test, UUID>, JpaSpecificat
     Page<Test> findByIsPremium(Boolean isPremium, Pageable pageable);
 
     long countByStatus(String status);
+
+    /**
+     * Locks the test row until the transaction ends, serializing changes that must see each other's result.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Test t WHERE t.id = :id")
+    Optional<Test> lockById(@Param("id") UUID id);
 }
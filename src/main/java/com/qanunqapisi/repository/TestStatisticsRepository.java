@@ -0,0 +1,102 @@
+package com.qanunqapisi.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.qanunqapisi.domain.TestStatistics;
+
+@Repository
+public interface TestStatisticsRepository extends JpaRepository<TestStatistics, UUID> {
+    /**
+     * Folds one completed attempt into the test's statistics row, creating it if needed. The user counts as a new
+     * participant unless they have another completed attempt of the test; callers hold the lock on the user's
+     * attempts, so that check sees every earlier submit.
+     *
+     * @param attemptId the attempt, already marked completed
+     * @param bucket    1-based histogram bucket of the attempt
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO test_statistics (
+            test_id, attempt_count, participant_count, score_sum, score_sum_squares, min_score, max_score, histogram
+        )
+        SELECT :testId, 1,
+               CASE WHEN EXISTS (
+                   SELECT 1 FROM test_attempts
+                   WHERE test_id = :testId AND user_id = :userId AND status = 'COMPLETED' AND id <> :attemptId
+               ) THEN 0 ELSE 1 END,
+               :score, CAST(:score AS BIGINT) * :score, :score, :score,
+               ARRAY(SELECT CAST(CASE WHEN i = :bucket THEN 1 ELSE 0 END AS BIGINT) FROM generate_series(1, 10) AS i ORDER BY i)
+        ON CONFLICT (test_id) DO UPDATE SET
+            attempt_count = test_statistics.attempt_count + 1,
+            participant_count = test_statistics.participant_count + EXCLUDED.participant_count,
+            score_sum = test_statistics.score_sum + EXCLUDED.score_sum,
+            score_sum_squares = test_statistics.score_sum_squares + EXCLUDED.score_sum_squares,
+            min_score = LEAST(test_statistics.min_score, EXCLUDED.min_score),
+            max_score = GREATEST(test_statistics.max_score, EXCLUDED.max_score),
+            histogram[:bucket] = test_statistics.histogram[:bucket] + 1,
+            updated_at = now()
+        """, nativeQuery = true)
+    void recordAttempt(
+        @Param("testId") UUID testId,
+        @Param("userId") UUID userId,
+        @Param("attemptId") UUID attemptId,
+        @Param("score") int score,
+        @Param("bucket") int bucket
+    );
+
+    /**
+     * Recomputes the test's statistics row from its completed attempts, used after scores change in bulk.
+     */
+    @Modifying
+    @Query(value = """
+        WITH completed AS (
+            SELECT user_id,
+                   total_score,
+                   CASE WHEN max_possible_score > 0
+                        THEN LEAST(9, GREATEST(0, total_score * 10 / max_possible_score)) + 1
+                        ELSE 1
+                   END AS bucket
+            FROM test_attempts
+            WHERE test_id = :testId AND status = 'COMPLETED'
+        )
+        INSERT INTO test_statistics (
+            test_id, attempt_count, participant_count, score_sum, score_sum_squares, min_score, max_score, histogram
+        )
+        SELECT :testId,
+               COUNT(*),
+               COUNT(DISTINCT user_id),
+               COALESCE(SUM(total_score), 0),
+               COALESCE(SUM(CAST(total_score AS BIGINT) * total_score), 0),
+               MIN(total_score),
+               MAX(total_score),
+               ARRAY[
+                   COUNT(*) FILTER (WHERE bucket = 1),
+                   COUNT(*) FILTER (WHERE bucket = 2),
+                   COUNT(*) FILTER (WHERE bucket = 3),
+                   COUNT(*) FILTER (WHERE bucket = 4),
+                   COUNT(*) FILTER (WHERE bucket = 5),
+                   COUNT(*) FILTER (WHERE bucket = 6),
+                   COUNT(*) FILTER (WHERE bucket = 7),
+                   COUNT(*) FILTER (WHERE bucket = 8),
+                   COUNT(*) FILTER (WHERE bucket = 9),
+                   COUNT(*) FILTER (WHERE bucket = 10)
+               ]
+        FROM completed
+        ON CONFLICT (test_id) DO UPDATE SET
+            attempt_count = EXCLUDED.attempt_count,
+            participant_count = EXCLUDED.participant_count,
+            score_sum = EXCLUDED.score_sum,
+            score_sum_squares = EXCLUDED.score_sum_squares,
+            min_score = EXCLUDED.min_score,
+            max_score = EXCLUDED.max_score,
+            histogram = EXCLUDED.histogram,
+            updated_at = now()
+        """, nativeQuery = true)
+    void rebuild(@Param("testId") UUID testId);
+}
@@ -0,0 +1,14 @@
+package com.qanunqapisi.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.qanunqapisi.domain.TestVersion;
+
+@Repository
+public interface TestVersionRepository extends JpaRepository<TestVersion, UUID> {
+    Optional<TestVersion> findTopByTestIdOrderByVersionNumberDesc(UUID testId);
+}
@@ -2,7 +2,9 @@ package com.qanunqapisi.service;
 
 import com.qanunqapisi.dto.request.admin.CreateUserRequest;
 import com.qanunqapisi.dto.request.admin.UpdateUserRequest;
+import com.qanunqapisi.dto.request.page.CursorPageRequest;
 import com.qanunqapisi.dto.response.admin.AdminUserResponse;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -25,6 +27,20 @@ public interface AdminUserService {
      */
     Page<AdminUserResponse> listUsers(String role, Boolean isActive, Boolean isVerified, String search, Pageable pageable);
 
+    /**
+     * Lists users like {@link #listUsers} but pages by cursor, counting the total only when requested.
+     *
+     * @param role       optional role filter (ADMIN, CUSTOMER)
+     * @param isActive   optional active status filter
+     * @param isVerified optional verified status filter
+     * @param search     optional search query for email, first name, or last name
+     * @param request    sort, page size and the cursor of the previous page
+     * @return the next page of users
+     * @throws IllegalArgumentException if the cursor is invalid for the requested sort
+     */
+    CursorPageResponse<AdminUserResponse> scrollUsers(String role, Boolean isActive, Boolean isVerified, String search,
+                                                      CursorPageRequest request);
+
     /**
      * Retrieves detailed information about a specific user.
      *
@@ -0,0 +1,32 @@
+package com.qanunqapisi.service;
+
+import java.util.UUID;
+
+import com.qanunqapisi.dto.response.admin.RegradeJobResponse;
+
+/**
+ * Service interface for regrading completed attempts after an answer key correction.
+ */
+public interface RegradeService {
+    /**
+     * Starts a background job that regrades every completed attempt of a test against the answer key
+     * of its currently published version (Admin only). Attempts taken on earlier versions are moved to it.
+     *
+     * @param testId the ID of the test
+     * @return the created job
+     * @throws NoSuchElementException         if test not found
+     * @throws IllegalStateException           if test is not published
+     * @throws DataIntegrityViolationException if a regrade of the test is already running
+     */
+    RegradeJobResponse startRegrade(UUID testId);
+
+    /**
+     * Retrieves the status and progress of a regrade job (Admin only).
+     *
+     * @param testId the ID of the test
+     * @param jobId  the ID of the job
+     * @return the job
+     * @throws NoSuchElementException if job not found for the test
+     */
+    RegradeJobResponse getRegradeJob(UUID testId, UUID jobId);
+}
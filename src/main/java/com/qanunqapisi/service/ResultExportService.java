@@ -0,0 +1,25 @@
+package com.qanunqapisi.service;
+
+import java.util.UUID;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.qanunqapisi.service.export.ExportFormat;
+
+/**
+ * Service interface for bulk export of test results.
+ */
+public interface ResultExportService {
+    /**
+     * Prepares a streaming export of every completed attempt of a test (Admin only).
+     * Rows are read through a forward-only JDBC cursor and written as they arrive,
+     * so memory use does not depend on the number of attempts.
+     *
+     * @param testId         the ID of the test
+     * @param format         CSV (one row per attempt, or per answer) or NDJSON (one object per attempt)
+     * @param includeAnswers whether to include per-question user answers
+     * @return body that writes the export to the response stream
+     * @throws NoSuchElementException if test not found
+     */
+    StreamingResponseBody exportResults(UUID testId, ExportFormat format, boolean includeAnswers);
+}
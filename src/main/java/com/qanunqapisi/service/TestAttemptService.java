@@ -1,10 +1,14 @@
 package com.qanunqapisi.service;
 
+import com.qanunqapisi.dto.request.page.CursorPageRequest;
 import com.qanunqapisi.dto.request.test.SubmitTestRequest;
 import com.qanunqapisi.dto.response.admin.TestAttemptAdminResponse;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
+import com.qanunqapisi.dto.response.test.QuestionStatsResponse;
 import com.qanunqapisi.dto.response.test.TestAttemptResponse;
 import com.qanunqapisi.dto.response.test.TestResultResponse;
 import com.qanunqapisi.dto.response.test.TestStatisticsResponse;
+import com.qanunqapisi.util.JsonSnapshot;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -58,6 +62,17 @@ public interface TestAttemptService {
      */
     TestResultResponse getAttemptResults(UUID attemptId);
 
+    /**
+     * Retrieves the results of a completed test attempt as pre-serialized JSON.
+     * Completed attempts are immutable, so results are served from cache when possible.
+     *
+     * @param attemptId the ID of the test attempt
+     * @return the serialized test results with their ETag
+     * @throws NoSuchElementException if attempt not found
+     * @throws IllegalStateException  if attempt is not completed
+     */
+    JsonSnapshot getAttemptResultsJson(UUID attemptId);
+
     /**
      * Retrieves all completed test attempts for a specific test (Admin only).
      * Returns paginated list with user details for admin view.
@@ -69,6 +84,18 @@ public interface TestAttemptService {
      */
     Page<TestAttemptAdminResponse> getTestResultsForAdmin(UUID testId, Pageable pageable);
 
+    /**
+     * Retrieves completed test attempts like {@link #getTestResultsForAdmin} but pages by cursor,
+     * counting the total only when requested (Admin only).
+     *
+     * @param testId  the ID of the test
+     * @param request sort, page size and the cursor of the previous page
+     * @return the next page of test attempts with user details
+     * @throws NoSuchElementException   if test not found
+     * @throws IllegalArgumentException if the cursor is invalid for the requested sort
+     */
+    CursorPageResponse<TestAttemptAdminResponse> scrollTestResultsForAdmin(UUID testId, CursorPageRequest request);
+
     /**
      * Retrieves statistics for a specific test including participant count.
      * Available to all authenticated users.
@@ -78,4 +105,15 @@ public interface TestAttemptService {
      * @throws NoSuchElementException if test not found
      */
     TestStatisticsResponse getTestStatistics(UUID testId);
+
+    /**
+     * Retrieves item analytics for every question of a test (Admin only):
+     * the share of correct responses and how often each answer option was selected.
+     * Counters are flushed periodically, so the most recent submissions may not be included yet.
+     *
+     * @param testId the ID of the test
+     * @return per-question statistics in question order
+     * @throws NoSuchElementException if test not found
+     */
+    List<QuestionStatsResponse> getQuestionStatistics(UUID testId);
 }
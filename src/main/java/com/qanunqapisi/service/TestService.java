@@ -5,10 +5,14 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.qanunqapisi.dto.request.page.CursorPageRequest;
 import com.qanunqapisi.dto.request.test.CreateTestRequest;
 import com.qanunqapisi.dto.request.test.UpdateTestRequest;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
+import com.qanunqapisi.dto.response.test.QuestionSearchResponse;
 import com.qanunqapisi.dto.response.test.TestDetailResponse;
 import com.qanunqapisi.dto.response.test.TestResponse;
+import com.qanunqapisi.util.JsonSnapshot;
 
 /**
  * Service interface for test management operations.
@@ -25,7 +29,8 @@ public interface TestService {
     TestDetailResponse createTest(CreateTestRequest request);
 
     /**
-     * Updates an existing test and its questions.
+     * Updates an existing test and its questions. Changes to a published test are kept as a draft
+     * and only reach students once the test is published again.
      *
      * @param testId  the ID of the test to update
      * @param request the test update request containing new details
@@ -43,12 +48,14 @@ public interface TestService {
     void deleteTest(UUID testId);
 
     /**
-     * Publishes a test, making it available to users.
+     * Publishes a test, making it available to users. The current content is frozen as a new version
+     * that students read and take attempts on; publishing again releases any edits made since.
      *
      * @param testId the ID of the test to publish
      * @return the published test details
      * @throws NoSuchElementException if test not found
-     * @throws IllegalStateException  if test is already published or has no questions
+     * @throws IllegalStateException  if test is already published without changes or has no questions
+     * @throws TestValidationException if the test's content fails validation, listing every problem found
      */
     TestDetailResponse publishTest(UUID testId);
 
@@ -71,6 +78,18 @@ public interface TestService {
      */
     Page<TestResponse> listTests(String status, Boolean isPremium, Pageable pageable);
 
+    /**
+     * Lists tests like {@link #listTests} but pages by cursor, so deep pages cost the same as the first
+     * and the total is only counted when requested (admin view).
+     *
+     * @param status    optional filter by test status (DRAFT, PUBLISHED)
+     * @param isPremium optional filter by premium flag
+     * @param request   sort, page size and the cursor of the previous page
+     * @return the next page of tests matching the filters
+     * @throws IllegalArgumentException if the cursor is invalid for the requested sort
+     */
+    CursorPageResponse<TestResponse> scrollTests(String status, Boolean isPremium, CursorPageRequest request);
+
     /**
      * Lists all published tests for the authenticated user.
      * Shows both premium and non-premium tests in the list.
@@ -82,16 +101,59 @@ public interface TestService {
     Page<TestResponse> listPublishedTestsForUser(Pageable pageable);
 
     /**
-     * Retrieves a test for the authenticated user (customer view).
+     * Lists published tests as pre-serialized JSON from the published catalog read model.
+     * Pages are built from the database only on a miss and dropped whenever a test is published or deleted.
+     *
+     * @param pageable pagination information
+     * @return the serialized page with its ETag
+     */
+    JsonSnapshot listPublishedTestsJson(Pageable pageable);
+
+    /**
+     * Searches published tests by title and description, best matches first.
+     * Like the catalog, results show the published version of each test.
+     *
+     * @param query  the search text
+     * @param cursor the cursor of the previous page, or null for the first page
+     * @param size   the page size
+     * @return the next page of matching tests
+     * @throws IllegalArgumentException if the query is blank or the cursor is invalid
+     */
+    CursorPageResponse<TestResponse> searchPublishedTests(String query, String cursor, int size);
+
+    /**
+     * Searches the text of questions across all tests, best matches first (admin view).
+     *
+     * @param query  the search text
+     * @param cursor the cursor of the previous page, or null for the first page
+     * @param size   the page size
+     * @return the next page of matching questions with their test
+     * @throws IllegalArgumentException if the query is blank or the cursor is invalid
+     */
+    CursorPageResponse<QuestionSearchResponse> searchQuestions(String query, String cursor, int size);
+
+    /**
+     * Retrieves the published version of a test for the authenticated user (customer view).
      * Validates user's access to premium tests.
      *
      * @param testId the ID of the test to retrieve
      * @return the test details
      * @throws NoSuchElementException if test or user not found
-     * @throws IllegalStateException  if user doesn't have access to premium test
+     * @throws IllegalStateException  if test is not published or user doesn't have access to premium test
      */
     TestDetailResponse getTestForUser(UUID testId);
 
+    /**
+     * Retrieves a test for the authenticated user as pre-serialized JSON.
+     * Published tests are served from the published catalog read model; premium access is still checked.
+     *
+     * @param testId the ID of the test to retrieve
+     * @return the serialized test details with their ETag
+     * @throws NoSuchElementException if test or user not found
+     * @throws IllegalStateException  if test is not published or user doesn't have access to premium test
+     */
+    JsonSnapshot getTestForUserJson(UUID testId);
+
     /**
      * Recalculates total possible score for a test based on its questions.
      *
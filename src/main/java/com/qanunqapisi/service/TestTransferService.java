@@ -0,0 +1,34 @@
+package com.qanunqapisi.service;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.qanunqapisi.dto.response.admin.TestImportResponse;
+
+/**
+ * Service interface for moving tests between environments as NDJSON.
+ * A file holds one or more tests, each a {@code "type":"test"} line followed by one
+ * {@code "type":"question"} line per question with its answers.
+ */
+public interface TestTransferService {
+    /**
+     * Prepares a streaming NDJSON export of a test's current content (Admin only).
+     *
+     * @param testId the ID of the test
+     * @return body that writes the export to the response stream
+     * @throws NoSuchElementException if test not found
+     */
+    StreamingResponseBody exportTest(UUID testId);
+
+    /**
+     * Imports every test of an NDJSON stream as a draft, reading it line by line (Admin only).
+     * Either all tests are imported or, if any line is invalid, none are.
+     *
+     * @param input the NDJSON stream
+     * @return the created tests
+     * @throws TestValidationException if any line is invalid, listing the problems by line number
+     */
+    TestImportResponse importTests(InputStream input);
+}
@@ -0,0 +1,139 @@
+package com.qanunqapisi.service.auth;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.qanunqapisi.config.jwt.JwtProperties;
+import com.qanunqapisi.domain.RevokedToken;
+import com.qanunqapisi.repository.RevokedTokenRepository;
+import com.qanunqapisi.util.AfterCommit;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory set of revoked access tokens, so authenticating a request does no database I/O.
+ * Tokens are keyed by the same 16-byte digest as {@code revoked_tokens.token_hash} and kept until their
+ * {@code expiresAt}. Rows without a token hash revoke every token issued to a user up to the row's
+ * {@code createdAt} and are kept as a per-user cutoff.
+ * The set is loaded at startup, updated on logout and account changes, and periodically topped up
+ * with revocations written by other instances; the table stays the source of truth.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevocationIndex {
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtProperties jwtProperties;
+
+    private final Map<TokenDigest, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private final Map<UUID, UserCutoff> revokedUsers = new ConcurrentHashMap<>();
+    private volatile LocalDateTime syncedUpTo;
+
+    @PostConstruct
+    void load() {
+        LocalDateTime now = LocalDateTime.now();
+        addAll(revokedTokenRepository.findByExpiresAtAfter(now));
+        syncedUpTo = now;
+        log.info("Loaded {} revoked access tokens and {} revoked users", revoked.size(), revokedUsers.size());
+    }
+
+    public boolean isRevoked(byte[] tokenHash) {
+        LocalDateTime expiresAt = revoked.get(TokenDigest.of(tokenHash));
+        return expiresAt != null && expiresAt.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * JWT {@code iat} has whole-second precision, so a token issued in the same second as the cutoff
+     * counts as revoked even if it was issued just after it.
+     */
+    public boolean isRevoked(UUID userId, Date issuedAt) {
+        UserCutoff cutoff = revokedUsers.get(userId);
+        if (cutoff == null || !cutoff.expiresAt().isAfter(LocalDateTime.now())) {
+            return false;
+        }
+        return issuedAt == null || !LocalDateTime.ofInstant(issuedAt.toInstant(), ZoneId.systemDefault())
+            .isAfter(cutoff.revokedBefore().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public void revoke(byte[] tokenHash, LocalDateTime expiresAt) {
+        revoked.merge(TokenDigest.of(tokenHash), expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    /**
+     * Revokes every access token issued to the user so far, for changes that make their claims stale
+     * (deletion, deactivation, role or premium changes). The row expires with the last token it covers; the
+     * in-memory cutoff is applied once the caller's transaction commits.
+     */
+    public void revokeUser(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        RevokedToken revocation = revokedTokenRepository.save(RevokedToken.builder()
+            .userId(userId)
+            .expiresAt(now.plusSeconds(jwtProperties.getAccessTokenValiditySeconds() + 1))
+            .build());
+        LocalDateTime revokedBefore = revocation.getCreatedAt() != null ? revocation.getCreatedAt() : now;
+        AfterCommit.run(() -> revokeUser(userId, revokedBefore, revocation.getExpiresAt()));
+    }
+
+    /**
+     * Drops entries whose token has expired; the JWT parser rejects those on its own.
+     */
+    public void prune(LocalDateTime now) {
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        revokedUsers.values().removeIf(cutoff -> !cutoff.expiresAt().isAfter(now));
+    }
+
+    /**
+     * Picks up revocations saved by other instances. The window overlaps the previous one so rows
+     * committed shortly after their {@code created_at} are not missed; re-adding a token is harmless.
+     */
+    @Scheduled(fixedDelay = 30_000, initialDelay = 30_000)
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            addAll(revokedTokenRepository.findByCreatedAtAfter(syncedUpTo.minusSeconds(SYNC_OVERLAP_SECONDS)));
+            syncedUpTo = now;
+        } catch (Exception e) {
+            log.error("Failed to sync revoked access tokens", e);
+        }
+    }
+
+    private void addAll(List<RevokedToken> tokens) {
+        for (RevokedToken token : tokens) {
+            if (token.getTokenHash() == null) {
+                revokeUser(token.getUserId(), token.getCreatedAt(), token.getExpiresAt());
+            } else {
+                revoke(token.getTokenHash(), token.getExpiresAt());
+            }
+        }
+    }
+
+    private void revokeUser(UUID userId, LocalDateTime revokedBefore, LocalDateTime expiresAt) {
+        revokedUsers.merge(userId, new UserCutoff(revokedBefore, expiresAt), (a, b) -> new UserCutoff(
+            a.revokedBefore().isAfter(b.revokedBefore()) ? a.revokedBefore() : b.revokedBefore(),
+            a.expiresAt().isAfter(b.expiresAt()) ? a.expiresAt() : b.expiresAt()));
+    }
+
+    private record UserCutoff(LocalDateTime revokedBefore, LocalDateTime expiresAt) {
+    }
+
+    private record TokenDigest(long high, long low) {
+        static TokenDigest of(byte[] tokenHash) {
+            ByteBuffer buffer = ByteBuffer.wrap(tokenHash);
+            return new TokenDigest(buffer.getLong(), buffer.getLong());
+        }
+    }
+}
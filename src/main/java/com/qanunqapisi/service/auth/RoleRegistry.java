@@ -0,0 +1,54 @@
+package com.qanunqapisi.service.auth;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.qanunqapisi.domain.Role;
+import com.qanunqapisi.repository.RoleRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Role ID ↔ title lookups served from memory. Roles are a small fixed set seeded at startup, so the
+ * registry loads them once and is refreshed only by whatever creates roles.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleRegistry {
+    private final RoleRepository roleRepository;
+
+    private volatile Roles roles = new Roles(Collections.emptyMap(), Collections.emptyMap());
+
+    @PostConstruct
+    public void refresh() {
+        List<Role> all = roleRepository.findAll();
+        Map<UUID, String> titlesById = new HashMap<>();
+        Map<String, UUID> idsByTitle = new HashMap<>();
+        for (Role role : all) {
+            titlesById.put(role.getId(), role.getTitle());
+            idsByTitle.put(role.getTitle(), role.getId());
+        }
+        roles = new Roles(Collections.unmodifiableMap(titlesById), Collections.unmodifiableMap(idsByTitle));
+        log.info("Loaded {} roles", all.size());
+    }
+
+    public Optional<String> findTitle(UUID roleId) {
+        return Optional.ofNullable(roles.titlesById().get(roleId));
+    }
+
+    public Optional<UUID> findId(String title) {
+        return Optional.ofNullable(roles.idsByTitle().get(title));
+    }
+
+    private record Roles(Map<UUID, String> titlesById, Map<String, UUID> idsByTitle) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.qanunqapisi.service.authoring;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.qanunqapisi.domain.Answer;
+import com.qanunqapisi.domain.Question;
+import com.qanunqapisi.domain.Test;
+import static com.qanunqapisi.util.ErrorMessages.ANSWER_ORDER_DUPLICATE;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_MULTIPLE_AT_LEAST_ONE;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_MULTIPLE_MUST_HAVE_ANSWER;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_SINGLE_MUST_HAVE_ANSWER;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_SINGLE_ONE_CORRECT;
+import static com.qanunqapisi.util.ErrorMessages.OPEN_TEXT_REQUIRES_ANSWER;
+import static com.qanunqapisi.util.ErrorMessages.QUESTION_ORDER_DUPLICATE;
+import static com.qanunqapisi.util.ErrorMessages.TEST_DESCRIPTION_REQUIRED;
+import static com.qanunqapisi.util.ErrorMessages.TEST_TITLE_REQUIRED;
+
+/**
+ * Checks that a test can be published, in one pass over its already loaded questions and answers.
+ * Every problem is collected instead of stopping at the first, keyed by the field it concerns
+ * (for example {@code questions[3].answers}, counting questions in order), so an author can fix them all before publishing again.
+ */
+public final class PublishValidator {
+    private static final String CLOSED_SINGLE = "CLOSED_SINGLE";
+    private static final String CLOSED_MULTIPLE = "CLOSED_MULTIPLE";
+    private static final String OPEN_TEXT = "OPEN_TEXT";
+
+    private PublishValidator() {
+    }
+
+    /**
+     * @return the violations in question order, empty when the test can be published
+     */
+    public static Map<String, String> validate(Test test, List<Question> questions,
+                                               Map<UUID, List<Answer>> answersByQuestionId) {
+        Map<String, String> violations = new LinkedHashMap<>();
+
+        if (test.getTitle() == null || test.getTitle().isBlank()) {
+            violations.put("title", TEST_TITLE_REQUIRED);
+        }
+        if (test.getDescription() == null || test.getDescription().isBlank()) {
+            violations.put("description", TEST_DESCRIPTION_REQUIRED);
+        }
+
+        Set<Integer> questionOrders = new HashSet<>();
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            String path = "questions[" + i + "]";
+            if (!questionOrders.add(question.getOrderIndex())) {
+                violations.put(path + ".orderIndex", QUESTION_ORDER_DUPLICATE);
+            }
+
+            List<Answer> answers = answersByQuestionId.getOrDefault(question.getId(), List.of());
+            String answerViolation = switch (question.getQuestionType()) {
+                case CLOSED_SINGLE -> answers.isEmpty() ? CLOSED_SINGLE_MUST_HAVE_ANSWER
+                    : correctCount(answers) != 1 ? CLOSED_SINGLE_ONE_CORRECT : null;
+                case CLOSED_MULTIPLE -> answers.isEmpty() ? CLOSED_MULTIPLE_MUST_HAVE_ANSWER
+                    : correctCount(answers) == 0 ? CLOSED_MULTIPLE_AT_LEAST_ONE : null;
+                default -> null;
+            };
+            if (answerViolation != null) {
+                violations.put(path + ".answers", answerViolation);
+            }
+
+            if (OPEN_TEXT.equals(question.getQuestionType()) &&
+                (question.getCorrectAnswer() == null || question.getCorrectAnswer().isBlank())) {
+                violations.put(path + ".correctAnswer", OPEN_TEXT_REQUIRES_ANSWER);
+            }
+
+            Set<Integer> answerOrders = new HashSet<>();
+            for (Answer answer : answers) {
+                if (!answerOrders.add(answer.getOrderIndex())) {
+                    violations.put(path + ".answers.orderIndex", ANSWER_ORDER_DUPLICATE);
+                    break;
+                }
+            }
+        }
+
+        return violations;
+    }
+
+    private static long correctCount(List<Answer> answers) {
+        return answers.stream().filter(answer -> Boolean.TRUE.equals(answer.getIsCorrect())).count();
+    }
+}
@@ -0,0 +1,89 @@
+package com.qanunqapisi.service.authoring;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Applies a {@link QuestionDiff} to the questions and answers of a test as JDBC batches. IDs are assigned
+ * by the diff, so answers can reference their question without a round trip, and the driver's
+ * {@code reWriteBatchedInserts} turns each insert batch into multi-row INSERTs.
+ * Must run inside the caller's transaction, after the test row has been flushed. Order index uniqueness
+ * is checked at commit, so rows may swap positions within one diff.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionBulkWriter {
+    public static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_QUESTION_SQL =
+        "INSERT INTO questions (id, test_id, question_type, question_text, score, order_index, correct_answer) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_QUESTION_SQL =
+        "UPDATE questions SET question_type = ?, question_text = ?, score = ?, order_index = ?, " +
+            "correct_answer = ?, updated_at = now() WHERE id = ?";
+
+    private static final String DELETE_QUESTIONS_SQL = "DELETE FROM questions WHERE id = ANY(?)";
+
+    private static final String INSERT_ANSWER_SQL =
+        "INSERT INTO answers (id, question_id, answer_text, is_correct, order_index) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ANSWER_SQL =
+        "UPDATE answers SET answer_text = ?, is_correct = ?, order_index = ?, updated_at = now() WHERE id = ?";
+
+    private static final String DELETE_ANSWERS_SQL = "DELETE FROM answers WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void apply(QuestionDiff diff) {
+        // Answers of deleted questions go with them through the foreign key cascade
+        deleteAll(DELETE_ANSWERS_SQL, diff.answerDeletes());
+        deleteAll(DELETE_QUESTIONS_SQL, diff.questionDeletes());
+
+        jdbcTemplate.batchUpdate(UPDATE_QUESTION_SQL, diff.questionUpdates(), BATCH_SIZE, (ps, question) -> {
+            ps.setString(1, question.getQuestionType());
+            ps.setString(2, question.getQuestionText());
+            ps.setInt(3, question.getScore());
+            ps.setInt(4, question.getOrderIndex());
+            ps.setString(5, question.getCorrectAnswer());
+            ps.setObject(6, question.getId());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_QUESTION_SQL, diff.questionInserts(), BATCH_SIZE, (ps, question) -> {
+            ps.setObject(1, question.getId());
+            ps.setObject(2, question.getTestId());
+            ps.setString(3, question.getQuestionType());
+            ps.setString(4, question.getQuestionText());
+            ps.setInt(5, question.getScore());
+            ps.setInt(6, question.getOrderIndex());
+            ps.setString(7, question.getCorrectAnswer());
+        });
+
+        jdbcTemplate.batchUpdate(UPDATE_ANSWER_SQL, diff.answerUpdates(), BATCH_SIZE, (ps, answer) -> {
+            ps.setString(1, answer.getAnswerText());
+            ps.setBoolean(2, answer.getIsCorrect());
+            ps.setInt(3, answer.getOrderIndex());
+            ps.setObject(4, answer.getId());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_ANSWER_SQL, diff.answerInserts(), BATCH_SIZE, (ps, answer) -> {
+            ps.setObject(1, answer.getId());
+            ps.setObject(2, answer.getQuestionId());
+            ps.setString(3, answer.getAnswerText());
+            ps.setBoolean(4, answer.getIsCorrect());
+            ps.setInt(5, answer.getOrderIndex());
+        });
+    }
+
+    private void deleteAll(String sql, List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())));
+    }
+}
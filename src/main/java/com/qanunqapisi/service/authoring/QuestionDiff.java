@@ -0,0 +1,213 @@
+package com.qanunqapisi.service.authoring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.qanunqapisi.domain.Answer;
+import com.qanunqapisi.domain.Question;
+import com.qanunqapisi.dto.request.test.CreateAnswerRequest;
+import com.qanunqapisi.dto.request.test.CreateQuestionRequest;
+import com.qanunqapisi.service.scoring.OpenTextScorer;
+import static com.qanunqapisi.util.ErrorMessages.ANSWER_NOT_IN_QUESTION;
+import static com.qanunqapisi.util.ErrorMessages.DUPLICATE_ANSWER_ID;
+import static com.qanunqapisi.util.ErrorMessages.DUPLICATE_QUESTION_ID;
+import static com.qanunqapisi.util.ErrorMessages.QUESTION_NOT_IN_TEST;
+
+/**
+ * Row changes that turn the stored questions and answers of a test into the requested ones.
+ * Requested questions are matched to stored ones by ID when one is given, otherwise by order index
+ * among the stored questions no other request has claimed. Answers are matched the same way within
+ * their question. Matched rows keep their IDs and are only updated when their content differs.
+ * <p>
+ * Rows in the update and insert lists are new, detached objects; the stored entities are never modified.
+ * Answers of deleted questions are not listed, the database removes them with their question.
+ */
+public record QuestionDiff(
+    List<Question> questionInserts,
+    List<Question> questionUpdates,
+    List<UUID> questionDeletes,
+    List<Answer> answerInserts,
+    List<Answer> answerUpdates,
+    List<UUID> answerDeletes,
+    List<Question> questions,
+    Map<UUID, List<Answer>> answersByQuestionId
+) {
+    public static QuestionDiff compute(UUID testId, List<Question> stored, Map<UUID, List<Answer>> storedAnswers,
+                                       List<CreateQuestionRequest> requests) {
+        List<Question> questionInserts = new ArrayList<>();
+        List<Question> questionUpdates = new ArrayList<>();
+        List<Answer> answerInserts = new ArrayList<>();
+        List<Answer> answerUpdates = new ArrayList<>();
+        List<UUID> answerDeletes = new ArrayList<>();
+        List<Question> questions = new ArrayList<>(requests.size());
+        Map<UUID, List<Answer>> answersByQuestionId = new HashMap<>();
+
+        List<Question> matches = match(
+            stored, Question::getId, Question::getOrderIndex,
+            requests.stream().map(CreateQuestionRequest::id).toList(),
+            orderIndices(requests.stream().map(CreateQuestionRequest::orderIndex).toList()),
+            QUESTION_NOT_IN_TEST, DUPLICATE_QUESTION_ID);
+
+        Set<UUID> keptQuestionIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateQuestionRequest request = requests.get(i);
+            Question current = matches.get(i);
+
+            Question target = Question.builder()
+                .id(current != null ? current.getId() : UUID.randomUUID())
+                .testId(testId)
+                .questionType(request.questionType())
+                .questionText(request.questionText())
+                .score(request.score())
+                .orderIndex(request.orderIndex() != null ? request.orderIndex() : i)
+                .correctAnswer(request.correctAnswer() != null ? OpenTextScorer.normalize(request.correctAnswer()) : null)
+                .build();
+            questions.add(target);
+
+            if (current == null) {
+                questionInserts.add(target);
+            } else {
+                keptQuestionIds.add(current.getId());
+                if (!sameContent(current, target)) {
+                    questionUpdates.add(target);
+                }
+            }
+
+            boolean closed = "CLOSED_SINGLE".equals(request.questionType()) ||
+                "CLOSED_MULTIPLE".equals(request.questionType());
+            List<CreateAnswerRequest> answerRequests = closed && request.answers() != null
+                ? request.answers()
+                : List.of();
+            List<Answer> currentAnswers = current != null
+                ? storedAnswers.getOrDefault(current.getId(), List.of())
+                : List.of();
+
+            List<Answer> answerMatches = match(
+                currentAnswers, Answer::getId, Answer::getOrderIndex,
+                answerRequests.stream().map(CreateAnswerRequest::id).toList(),
+                orderIndices(answerRequests.stream().map(CreateAnswerRequest::orderIndex).toList()),
+                ANSWER_NOT_IN_QUESTION, DUPLICATE_ANSWER_ID);
+
+            Set<UUID> keptAnswerIds = new HashSet<>();
+            List<Answer> answers = new ArrayList<>(answerRequests.size());
+            for (int j = 0; j < answerRequests.size(); j++) {
+                CreateAnswerRequest answerRequest = answerRequests.get(j);
+                Answer currentAnswer = answerMatches.get(j);
+
+                Answer targetAnswer = Answer.builder()
+                    .id(currentAnswer != null ? currentAnswer.getId() : UUID.randomUUID())
+                    .questionId(target.getId())
+                    .answerText(answerRequest.answerText())
+                    .isCorrect(answerRequest.isCorrect())
+                    .orderIndex(answerRequest.orderIndex() != null ? answerRequest.orderIndex() : j)
+                    .build();
+                answers.add(targetAnswer);
+
+                if (currentAnswer == null) {
+                    answerInserts.add(targetAnswer);
+                } else {
+                    keptAnswerIds.add(currentAnswer.getId());
+                    if (!sameContent(currentAnswer, targetAnswer)) {
+                        answerUpdates.add(targetAnswer);
+                    }
+                }
+            }
+            currentAnswers.stream()
+                .map(Answer::getId)
+                .filter(id -> !keptAnswerIds.contains(id))
+                .forEach(answerDeletes::add);
+
+            if (!answers.isEmpty()) {
+                answers.sort(Comparator.comparing(Answer::getOrderIndex));
+                answersByQuestionId.put(target.getId(), answers);
+            }
+        }
+
+        List<UUID> questionDeletes = stored.stream()
+            .map(Question::getId)
+            .filter(id -> !keptQuestionIds.contains(id))
+            .toList();
+        questions.sort(Comparator.comparing(Question::getOrderIndex));
+
+        return new QuestionDiff(questionInserts, questionUpdates, questionDeletes,
+            answerInserts, answerUpdates, answerDeletes, questions, answersByQuestionId);
+    }
+
+    public boolean isEmpty() {
+        return questionInserts.isEmpty() && questionUpdates.isEmpty() && questionDeletes.isEmpty() &&
+            answerInserts.isEmpty() && answerUpdates.isEmpty() && answerDeletes.isEmpty();
+    }
+
+    /**
+     * Pairs each request with a stored row, or {@code null} when it needs a new one.
+     * Explicit IDs are claimed first so that an ID always wins over a coinciding order index.
+     */
+    private static <T> List<T> match(List<T> stored, Function<T, UUID> idOf, Function<T, Integer> orderIndexOf,
+                                     List<UUID> requestedIds, List<Integer> requestedOrderIndices,
+                                     String notFoundMessage, String duplicateMessage) {
+        List<T> matches = new ArrayList<>(Collections.<T>nCopies(requestedIds.size(), null));
+        Map<UUID, T> storedById = new HashMap<>();
+        stored.forEach(row -> storedById.put(idOf.apply(row), row));
+
+        Set<UUID> claimed = new HashSet<>();
+        for (int i = 0; i < requestedIds.size(); i++) {
+            UUID id = requestedIds.get(i);
+            if (id == null) {
+                continue;
+            }
+            T row = storedById.get(id);
+            if (row == null) {
+                throw new IllegalArgumentException(notFoundMessage);
+            }
+            if (!claimed.add(id)) {
+                throw new IllegalArgumentException(duplicateMessage);
+            }
+            matches.set(i, row);
+        }
+
+        Map<Integer, T> unclaimedByOrderIndex = new LinkedHashMap<>();
+        for (T row : stored) {
+            if (!claimed.contains(idOf.apply(row))) {
+                unclaimedByOrderIndex.putIfAbsent(orderIndexOf.apply(row), row);
+            }
+        }
+        for (int i = 0; i < requestedIds.size(); i++) {
+            if (requestedIds.get(i) == null) {
+                matches.set(i, unclaimedByOrderIndex.remove(requestedOrderIndices.get(i)));
+            }
+        }
+        return matches;
+    }
+
+    private static List<Integer> orderIndices(List<Integer> requested) {
+        List<Integer> indices = new ArrayList<>(requested.size());
+        for (int i = 0; i < requested.size(); i++) {
+            indices.add(requested.get(i) != null ? requested.get(i) : i);
+        }
+        return indices;
+    }
+
+    private static boolean sameContent(Question current, Question target) {
+        return Objects.equals(current.getQuestionType(), target.getQuestionType()) &&
+            Objects.equals(current.getQuestionText(), target.getQuestionText()) &&
+            Objects.equals(current.getScore(), target.getScore()) &&
+            Objects.equals(current.getOrderIndex(), target.getOrderIndex()) &&
+            Objects.equals(current.getCorrectAnswer(), target.getCorrectAnswer());
+    }
+
+    private static boolean sameContent(Answer current, Answer target) {
+        return Objects.equals(current.getAnswerText(), target.getAnswerText()) &&
+            Objects.equals(current.getIsCorrect(), target.getIsCorrect()) &&
+            Objects.equals(current.getOrderIndex(), target.getOrderIndex());
+    }
+}
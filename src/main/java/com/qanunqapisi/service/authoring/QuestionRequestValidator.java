@@ -0,0 +1,64 @@
+package com.qanunqapisi.service.authoring;
+
+import com.qanunqapisi.dto.request.test.CreateAnswerRequest;
+import com.qanunqapisi.dto.request.test.CreateQuestionRequest;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_MULTIPLE_AT_LEAST_ONE;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_MULTIPLE_MUST_HAVE_ANSWER;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_SINGLE_MUST_HAVE_ANSWER;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_SINGLE_ONE_CORRECT;
+import static com.qanunqapisi.util.ErrorMessages.OPEN_TEXT_REQUIRES_ANSWER;
+
+/**
+ * Type-specific rules for a requested question that bean validation cannot express,
+ * shared by test authoring and import.
+ */
+public final class QuestionRequestValidator {
+    private static final String CLOSED_SINGLE = "CLOSED_SINGLE";
+    private static final String CLOSED_MULTIPLE = "CLOSED_MULTIPLE";
+    private static final String OPEN_TEXT = "OPEN_TEXT";
+
+    private QuestionRequestValidator() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the question's answers or correct answer do not fit its type
+     */
+    public static void validate(CreateQuestionRequest request) {
+        String questionType = request.questionType();
+
+        switch (questionType) {
+            case CLOSED_SINGLE -> validateClosedSingle(request);
+            case CLOSED_MULTIPLE -> validateClosedMultiple(request);
+            case OPEN_TEXT -> validateOpenText(request);
+            default -> {
+                // No validation needed for other types
+            }
+        }
+    }
+
+    private static void validateClosedSingle(CreateQuestionRequest request) {
+        if (request.answers() == null || request.answers().isEmpty()) {
+            throw new IllegalArgumentException(CLOSED_SINGLE_MUST_HAVE_ANSWER);
+        }
+        long correctCount = request.answers().stream().filter(CreateAnswerRequest::isCorrect).count();
+        if (correctCount != 1) {
+            throw new IllegalArgumentException(CLOSED_SINGLE_ONE_CORRECT);
+        }
+    }
+
+    private static void validateClosedMultiple(CreateQuestionRequest request) {
+        if (request.answers() == null || request.answers().isEmpty()) {
+            throw new IllegalArgumentException(CLOSED_MULTIPLE_MUST_HAVE_ANSWER);
+        }
+        long correctCount = request.answers().stream().filter(CreateAnswerRequest::isCorrect).count();
+        if (correctCount < 1) {
+            throw new IllegalArgumentException(CLOSED_MULTIPLE_AT_LEAST_ONE);
+        }
+    }
+
+    private static void validateOpenText(CreateQuestionRequest request) {
+        if (request.correctAnswer() == null || request.correctAnswer().isBlank()) {
+            throw new IllegalArgumentException(OPEN_TEXT_REQUIRES_ANSWER);
+        }
+    }
+}
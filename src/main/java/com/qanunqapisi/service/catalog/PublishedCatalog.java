@@ -0,0 +1,97 @@
+package com.qanunqapisi.service.catalog;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qanunqapisi.dto.response.test.TestDetailResponse;
+import com.qanunqapisi.dto.response.test.TestResponse;
+import com.qanunqapisi.util.AfterCommit;
+import com.qanunqapisi.util.BoundedCache;
+import com.qanunqapisi.util.JsonSnapshot;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory read model of the published catalog holding pre-serialized JSON for test details
+ * and listing pages. Published content is immutable between publishes, so only publishing
+ * and deleting a test call {@link #evictTest(UUID)}; every eviction bumps the catalog version
+ * so that a snapshot read before the mutation committed is never stored.
+ */
+@Component
+@RequiredArgsConstructor
+public class PublishedCatalog {
+    private static final String PUBLISHED = "PUBLISHED";
+    private static final int MAX_PAGES = 256;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<UUID, Entry> tests = new ConcurrentHashMap<>();
+    private final BoundedCache<Pageable, JsonSnapshot> pages = new BoundedCache<>(MAX_PAGES);
+    private final AtomicLong version = new AtomicLong();
+
+    public long version() {
+        return version.get();
+    }
+
+    public Entry getTest(UUID testId) {
+        return tests.get(testId);
+    }
+
+    /**
+     * Serializes a test detail and stores it if the test is published and the catalog has not
+     * changed since {@code observedVersion}. The serialized entry is returned either way.
+     */
+    public Entry putTest(TestDetailResponse test, long observedVersion) {
+        Entry entry = new Entry(JsonSnapshot.of(objectMapper, test), Boolean.TRUE.equals(test.isPremium()));
+        if (PUBLISHED.equals(test.status()) && version.get() == observedVersion) {
+            tests.put(test.id(), entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Stores a test detail built by an admin mutation once it commits.
+     */
+    public void putTestAfterCommit(TestDetailResponse test) {
+        AfterCommit.run(() -> putTest(test, version()));
+    }
+
+    public JsonSnapshot getPage(Pageable pageable) {
+        return pages.get(pageable);
+    }
+
+    public JsonSnapshot putPage(Pageable pageable, Page<TestResponse> page, long observedVersion) {
+        JsonSnapshot snapshot = JsonSnapshot.of(objectMapper, page);
+        if (version.get() == observedVersion) {
+            pages.put(pageable, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drops a test and every listing page, immediately and again after the current transaction commits.
+     */
+    public void evictTest(UUID testId) {
+        evict(testId);
+        AfterCommit.run(() -> evict(testId));
+    }
+
+    private void evict(UUID testId) {
+        version.incrementAndGet();
+        tests.remove(testId);
+        pages.clear();
+    }
+
+    /**
+     * Serialized test detail plus the premium flag needed for the access check.
+     */
+    public record Entry(JsonSnapshot json, boolean premium) {
+    }
+}
@@ -1,23 +1,27 @@
 package com.qanunqapisi.service.impl;
 
-import com.qanunqapisi.domain.Role;
+import com.qanunqapisi.config.jwt.AuthenticatedUser;
 import com.qanunqapisi.domain.User;
 import com.qanunqapisi.dto.request.admin.CreateUserRequest;
 import com.qanunqapisi.dto.request.admin.UpdateUserRequest;
+import com.qanunqapisi.dto.request.page.CursorPageRequest;
 import com.qanunqapisi.dto.response.admin.AdminUserResponse;
-import com.qanunqapisi.repository.RoleRepository;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
+import com.qanunqapisi.repository.RefreshTokenRepository;
 import com.qanunqapisi.repository.UserRepository;
 import com.qanunqapisi.service.AdminUserService;
+import com.qanunqapisi.service.auth.RevocationIndex;
+import com.qanunqapisi.service.auth.RoleRegistry;
 import com.qanunqapisi.util.Hasher;
+import com.qanunqapisi.util.KeysetCursor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,18 +36,38 @@ import static com.qanunqapisi.util.ErrorMessages.*;
 @Slf4j
 public class AdminUserServiceImpl implements AdminUserService {
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RoleRegistry roleRegistry;
+    private final RevocationIndex revocationIndex;
     private final Hasher hasher;
 
     @Override
     @Transactional(readOnly = true)
     public Page<AdminUserResponse> listUsers(String role, Boolean isActive, Boolean isVerified, String search, Pageable pageable) {
+        Page<User> users = userRepository.findAll(userSpecification(role, isActive, isVerified, search), pageable);
+        return users.map(this::toAdminUserResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AdminUserResponse> scrollUsers(String role, Boolean isActive, Boolean isVerified, String search,
+                                                             CursorPageRequest request) {
+        Specification<User> spec = userSpecification(role, isActive, isVerified, search);
+        Window<User> window = userRepository.findBy(spec, query -> query
+            .sortBy(KeysetCursor.sort(request))
+            .limit(request.size())
+            .scroll(KeysetCursor.position(request, User.class)));
+        Long total = request.includeTotal() ? userRepository.count(spec) : null;
+
+        return KeysetCursor.page(window, request, window.map(this::toAdminUserResponse).getContent(), total);
+    }
+
+    private Specification<User> userSpecification(String role, Boolean isActive, Boolean isVerified, String search) {
         Specification<User> spec = (root, query, cb) -> cb.conjunction();
 
         if (role != null && !role.isEmpty()) {
-            Role roleEntity = roleRepository.findByTitle(role).orElse(null);
-            if (roleEntity != null) {
-                UUID roleId = roleEntity.getId();
+            UUID roleId = roleRegistry.findId(role).orElse(null);
+            if (roleId != null) {
                 spec = spec.and((root, query, cb) -> cb.equal(root.get("roleId"), roleId));
             }
         }
@@ -65,8 +89,7 @@ public class AdminUserServiceImpl implements AdminUserService {
             ));
         }
 
-        Page<User> users = userRepository.findAll(spec, pageable);
-        return users.map(this::toAdminUserResponse);
+        return spec;
     }
 
     @Override
@@ -83,13 +106,13 @@ public class AdminUserServiceImpl implements AdminUserService {
             throw new DataIntegrityViolationException(EMAIL_IN_USE);
         }
 
-        Role role = roleRepository.findByTitle(request.role())
+        UUID roleId = roleRegistry.findId(request.role())
             .orElseThrow(() -> new NoSuchElementException(ROLE_NOT_FOUND));
 
         String passwordHash = hasher.hash(request.password());
 
         User user = User.builder()
-            .roleId(role.getId())
+            .roleId(roleId)
             .email(request.email())
             .passwordHash(passwordHash)
             .firstName(request.firstName())
@@ -127,31 +150,41 @@ public class AdminUserServiceImpl implements AdminUserService {
             user.setLastName(request.lastName());
         }
 
+        // Access tokens carry the role and premium flag, so changing either revokes the tokens already issued
+        boolean claimsChanged = false;
+
         if (request.role() != null) {
-            Role newRole = roleRepository.findByTitle(request.role())
+            UUID newRoleId = roleRegistry.findId(request.role())
                 .orElseThrow(() -> new NoSuchElementException(ROLE_NOT_FOUND));
-            user.setRoleId(newRole.getId());
+            claimsChanged |= !newRoleId.equals(user.getRoleId());
+            user.setRoleId(newRoleId);
         }
 
         if (request.isPremium() != null) {
+            claimsChanged |= !request.isPremium().equals(user.getIsPremium());
             user.setIsPremium(request.isPremium());
         }
 
+        boolean deactivated = false;
         if (request.isActive() != null) {
+            deactivated = !request.isActive() && Boolean.TRUE.equals(user.getIsActive());
             user.setIsActive(request.isActive());
         }
 
         userRepository.save(user);
+
+        if (deactivated) {
+            refreshTokenRepository.deleteByUserId(userId);
+        }
+        if (claimsChanged || deactivated) {
+            revocationIndex.revokeUser(userId);
+        }
         return toAdminUserResponse(user);
     }
 
     @Override
     public void deleteUser(UUID userId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = userRepository.findByEmail(auth.getName())
-            .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
-
-        if (currentUser.getId().equals(userId)) {
+        if (AuthenticatedUser.current().id().equals(userId)) {
             throw new IllegalStateException(CANNOT_DELETE_SELF);
         }
 
@@ -159,10 +192,11 @@ public class AdminUserServiceImpl implements AdminUserService {
             .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
 
         userRepository.delete(userToDelete);
+        revocationIndex.revokeUser(userId);
     }
 
     private AdminUserResponse toAdminUserResponse(User user) {
-        Role role = roleRepository.findById(user.getRoleId())
+        String role = roleRegistry.findTitle(user.getRoleId())
             .orElseThrow(() -> new NoSuchElementException(ROLE_NOT_FOUND));
 
         return new AdminUserResponse(
@@ -173,7 +207,7 @@ public class AdminUserServiceImpl implements AdminUserService {
             user.getIsPremium(),
             user.getIsActive(),
             user.getIsVerified(),
-            role.getTitle(),
+            role,
             user.getLastLoginAt(),
             user.getCreatedAt()
         );
@@ -1,8 +1,10 @@
 package com.qanunqapisi.service.impl;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -13,10 +15,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.qanunqapisi.config.email.EmailProperties;
+import com.qanunqapisi.config.jwt.AuthenticatedUser;
+import com.qanunqapisi.config.jwt.JwtCodec;
 import com.qanunqapisi.config.jwt.JwtProperties;
 import com.qanunqapisi.domain.RefreshToken;
 import com.qanunqapisi.domain.RevokedToken;
-import com.qanunqapisi.domain.Role;
 import com.qanunqapisi.domain.User;
 import com.qanunqapisi.dto.request.auth.ConfirmResetPasswordRequest;
 import com.qanunqapisi.dto.request.auth.LoginRequest;
@@ -30,18 +33,19 @@ import com.qanunqapisi.dto.response.auth.MeResponse;
 import com.qanunqapisi.exception.EmailSendException;
 import com.qanunqapisi.repository.RefreshTokenRepository;
 import com.qanunqapisi.repository.RevokedTokenRepository;
-import com.qanunqapisi.repository.RoleRepository;
 import com.qanunqapisi.repository.UserRepository;
 import com.qanunqapisi.service.AuthService;
+import com.qanunqapisi.service.auth.RevocationIndex;
+import com.qanunqapisi.service.auth.RoleRegistry;
 import com.qanunqapisi.service.external.email.EmailService;
 import com.qanunqapisi.service.external.email.EmailTemplateService;
 import static com.qanunqapisi.util.ErrorMessages.ACCOUNT_LOCKED;
 import static com.qanunqapisi.util.ErrorMessages.ACCOUNT_NOT_VERIFIED;
 import static com.qanunqapisi.util.ErrorMessages.EMAIL_IN_USE;
 import static com.qanunqapisi.util.ErrorMessages.FAILED_TO_SEND_EMAIL;
+import static com.qanunqapisi.util.ErrorMessages.INVALID_ACCESS_TOKEN;
 import static com.qanunqapisi.util.ErrorMessages.INVALID_CREDENTIALS;
 import static com.qanunqapisi.util.ErrorMessages.INVALID_REFRESH_TOKEN;
-import static com.qanunqapisi.util.ErrorMessages.NOT_AUTHENTICATED;
 import static com.qanunqapisi.util.ErrorMessages.PASSWORD_RESET_EXPIRED;
 import static com.qanunqapisi.util.ErrorMessages.PASSWORD_RESET_INVALID;
 import static com.qanunqapisi.util.ErrorMessages.PASSWORD_RESET_LOCKED;
@@ -53,8 +57,11 @@ import static com.qanunqapisi.util.ErrorMessages.VERIFICATION_EXPIRED;
 import static com.qanunqapisi.util.ErrorMessages.VERIFICATION_INVALID;
 import static com.qanunqapisi.util.ErrorMessages.VERIFICATION_LOCKED;
 import com.qanunqapisi.util.Hasher;
+import com.qanunqapisi.util.TokenDigests;
 import com.qanunqapisi.util.TokenGenerator;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -75,12 +82,14 @@ public class AuthServiceImpl implements AuthService {
     private static final int RESET_TOKEN_TTL_MINUTES = 30;
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final RefreshTokenRepository refreshTokenRepository;
     private final RevokedTokenRepository revokedTokenRepository;
+    private final RevocationIndex revocationIndex;
     private final Hasher hasher;
     private final TokenGenerator tokenGenerator;
     private final JwtProperties jwtProperties;
+    private final JwtCodec jwtCodec;
     private final EmailProperties emailProperties;
     private final EmailService emailService;
     private final EmailTemplateService emailTemplateService;
@@ -94,7 +103,7 @@ public class AuthServiceImpl implements AuthService {
             throw new DataIntegrityViolationException(EMAIL_IN_USE);
         }
 
-        Role customerRole = roleRepository.findByTitle("CUSTOMER")
+        UUID customerRoleId = roleRegistry.findId("CUSTOMER")
             .orElseThrow(() -> new IllegalStateException(ROLE_NOT_FOUND));
 
         String passwordHash = hasher.hash(request.password());
@@ -102,7 +111,7 @@ public class AuthServiceImpl implements AuthService {
         LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(VERIFY_CODE_TTL_MINUTES);
 
         User user = User.builder()
-            .roleId(customerRole.getId())
+            .roleId(customerRoleId)
             .email(request.email())
             .passwordHash(passwordHash)
             .firstName(request.firstName())
@@ -251,7 +260,7 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AuthResponse refresh(@Valid RefreshTokenRequest request) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(request.refreshToken())
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(TokenDigests.of(request.refreshToken()))
             .orElseThrow(() -> new BadCredentialsException(INVALID_REFRESH_TOKEN));
 
         if (refreshToken.getExpiresAt().isBefore(LocalDateTime.now())) {
@@ -262,24 +271,32 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findById(refreshToken.getUserId())
             .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
 
-        String accessToken = tokenGenerator.generateAccessToken(user);
-        return new AuthResponse(accessToken, refreshToken.getToken());
+        String accessToken = tokenGenerator.generateAccessToken(user, roleTitle(user));
+        return new AuthResponse(accessToken, request.refreshToken());
     }
 
     @Override
     public void logout(String accessToken) {
         if (accessToken != null) {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.getName() != null) {
-                User user = userRepository.findByEmail(auth.getName())
+            if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal) {
+                User user = userRepository.findById(principal.id())
                     .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
 
+                Claims claims;
+                try {
+                    claims = jwtCodec.parse(accessToken);
+                } catch (JwtException e) {
+                    throw new IllegalArgumentException(INVALID_ACCESS_TOKEN);
+                }
+
                 RevokedToken revokedToken = RevokedToken.builder()
                     .userId(user.getId())
-                    .token(accessToken)
-                    .expiresAt(LocalDateTime.now().plusSeconds(jwtProperties.getAccessTokenValiditySeconds()))
+                    .tokenHash(TokenDigests.ofAccessToken(claims, accessToken))
+                    .expiresAt(LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()))
                     .build();
                 revokedTokenRepository.save(revokedToken);
+                revocationIndex.revoke(revokedToken.getTokenHash(), revokedToken.getExpiresAt());
 
                 refreshTokenRepository.deleteByUserId(user.getId());
                 
@@ -302,17 +319,10 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public MeResponse me() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || auth.getName() == null) {
-            throw new IllegalStateException(NOT_AUTHENTICATED);
-        }
-
-        User user = userRepository.findByEmail(auth.getName())
+        AuthenticatedUser principal = AuthenticatedUser.current();
+        User user = userRepository.findById(principal.id())
             .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
 
-        Role role = roleRepository.findById(user.getRoleId())
-            .orElseThrow(() -> new NoSuchElementException(ROLE_NOT_FOUND));
-
         return new MeResponse(
             user.getId(),
             user.getEmail(),
@@ -320,7 +330,7 @@ public class AuthServiceImpl implements AuthService {
             user.getLastName(),
             user.getDateOfBirth(),
             user.getIsPremium(),
-            role.getTitle(),
+            principal.role(),
             user.getLastLoginAt()
         );
     }
@@ -391,13 +401,18 @@ public class AuthServiceImpl implements AuthService {
                 && deviceBypassEmail.equalsIgnoreCase(user.getEmail())) {
             return true;
         }
-        return roleRepository.findById(user.getRoleId())
-                .map(role -> "ADMIN".equals(role.getTitle()))
+        return roleRegistry.findTitle(user.getRoleId())
+                .map("ADMIN"::equals)
                 .orElse(false);
     }
 
+    private String roleTitle(User user) {
+        return roleRegistry.findTitle(user.getRoleId())
+            .orElseThrow(() -> new NoSuchElementException(ROLE_NOT_FOUND));
+    }
+
     private AuthResponse createAuthResponse(User user) {
-        String accessToken = tokenGenerator.generateAccessToken(user);
+        String accessToken = tokenGenerator.generateAccessToken(user, roleTitle(user));
         String refreshToken = generateRefreshToken(user);
         return new AuthResponse(accessToken, refreshToken);
     }
@@ -408,7 +423,7 @@ public class AuthServiceImpl implements AuthService {
 
         RefreshToken refreshToken = RefreshToken.builder()
             .userId(user.getId())
-            .token(token)
+            .tokenHash(TokenDigests.of(token))
             .expiresAt(expiresAt)
             .build();
 
@@ -8,13 +8,11 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.qanunqapisi.config.email.EmailProperties;
-import com.qanunqapisi.domain.Role;
+import com.qanunqapisi.config.jwt.AuthenticatedUser;
 import com.qanunqapisi.domain.TestAttempt;
 import com.qanunqapisi.domain.User;
 import com.qanunqapisi.dto.request.profile.ChangeEmailRequest;
@@ -24,12 +22,11 @@ import com.qanunqapisi.dto.request.profile.VerifyEmailChangeRequest;
 import com.qanunqapisi.dto.response.profile.ProfileResponse;
 import com.qanunqapisi.exception.EmailSendException;
 import com.qanunqapisi.repository.RefreshTokenRepository;
-import com.qanunqapisi.repository.RevokedTokenRepository;
-import com.qanunqapisi.repository.RoleRepository;
 import com.qanunqapisi.repository.TestAttemptRepository;
 import com.qanunqapisi.repository.UserAnswerRepository;
 import com.qanunqapisi.repository.UserRepository;
 import com.qanunqapisi.service.ProfileService;
+import com.qanunqapisi.service.auth.RevocationIndex;
 import com.qanunqapisi.service.external.email.EmailService;
 import com.qanunqapisi.service.external.email.EmailTemplateService;
 import static com.qanunqapisi.util.ErrorMessages.EMAIL_CHANGE_EXPIRED;
@@ -40,8 +37,6 @@ import static com.qanunqapisi.util.ErrorMessages.EMAIL_IN_USE;
 import static com.qanunqapisi.util.ErrorMessages.FAILED_TO_SEND_EMAIL;
 import static com.qanunqapisi.util.ErrorMessages.INVALID_CURRENT_PASSWORD;
 import static com.qanunqapisi.util.ErrorMessages.NEW_EMAIL_SAME;
-import static com.qanunqapisi.util.ErrorMessages.NOT_AUTHENTICATED;
-import static com.qanunqapisi.util.ErrorMessages.ROLE_NOT_FOUND;
 import static com.qanunqapisi.util.ErrorMessages.USER_NOT_FOUND;
 import com.qanunqapisi.util.Hasher;
 import com.qanunqapisi.util.TokenGenerator;
@@ -60,9 +55,8 @@ public class ProfileServiceImpl implements ProfileService {
     private static final int EMAIL_CHANGE_CODE_TTL_MINUTES = 15;
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
     private final RefreshTokenRepository refreshTokenRepository;
-    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevocationIndex revocationIndex;
     private final TestAttemptRepository testAttemptRepository;
     private final UserAnswerRepository userAnswerRepository;
     private final Hasher hasher;
@@ -202,26 +196,19 @@ public class ProfileServiceImpl implements ProfileService {
 
         refreshTokenRepository.deleteByUserId(userId);
 
-        revokedTokenRepository.deleteByUserId(userId);
-
         userRepository.delete(user);
 
+        revocationIndex.revokeUser(userId);
+
         log.info("Successfully deleted user account: {}", userId);
     }
 
     private User getCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || auth.getName() == null) {
-            throw new IllegalStateException(NOT_AUTHENTICATED);
-        }
-        return userRepository.findByEmail(auth.getName())
+        return userRepository.findById(AuthenticatedUser.current().id())
             .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
     }
 
     private ProfileResponse buildProfileResponse(User user) {
-        Role role = roleRepository.findById(user.getRoleId())
-            .orElseThrow(() -> new NoSuchElementException(ROLE_NOT_FOUND));
-
         return new ProfileResponse(
             user.getId(),
             user.getEmail(),
@@ -230,7 +217,7 @@ public class ProfileServiceImpl implements ProfileService {
             user.getDateOfBirth(),
             user.getIsPremium(),
             user.getIsVerified(),
-            role.getTitle(),
+            AuthenticatedUser.current().role(),
             user.getLastLoginAt(),
             user.getCreatedAt(),
             user.getUpdatedAt()
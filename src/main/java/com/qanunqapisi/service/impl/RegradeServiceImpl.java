@@ -0,0 +1,122 @@
+package com.qanunqapisi.service.impl;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.qanunqapisi.config.jwt.AuthenticatedUser;
+import com.qanunqapisi.domain.RegradeJob;
+import com.qanunqapisi.domain.Test;
+import com.qanunqapisi.dto.response.admin.RegradeJobResponse;
+import com.qanunqapisi.repository.RegradeJobRepository;
+import com.qanunqapisi.repository.TestAttemptRepository;
+import com.qanunqapisi.repository.TestRepository;
+import com.qanunqapisi.service.RegradeService;
+import com.qanunqapisi.service.regrade.RegradeRunner;
+import com.qanunqapisi.service.scoring.AnswerKey;
+import com.qanunqapisi.service.scoring.AnswerKeyCache;
+import com.qanunqapisi.service.scoring.CompiledQuestion;
+import com.qanunqapisi.util.AfterCommit;
+import static com.qanunqapisi.util.ErrorMessages.REGRADE_ALREADY_RUNNING;
+import static com.qanunqapisi.util.ErrorMessages.REGRADE_JOB_NOT_FOUND;
+import static com.qanunqapisi.util.ErrorMessages.REGRADE_QUESTIONS_CHANGED;
+import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_FOUND;
+import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_PUBLISHED;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class RegradeServiceImpl implements RegradeService {
+    private static final String COMPLETED = "COMPLETED";
+
+    private final TestRepository testRepository;
+    private final TestAttemptRepository testAttemptRepository;
+    private final RegradeJobRepository regradeJobRepository;
+    private final RegradeRunner regradeRunner;
+    private final AnswerKeyCache answerKeyCache;
+
+    @Override
+    public RegradeJobResponse startRegrade(UUID testId) {
+        UUID userId = AuthenticatedUser.current().id();
+
+        Test test = testRepository.findById(testId)
+            .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
+
+        if (test.getPublishedVersionId() == null) {
+            throw new IllegalStateException(TEST_NOT_PUBLISHED);
+        }
+        if (regradeJobRepository.existsByTestIdAndStatusIn(testId, List.of(RegradeRunner.PENDING, RegradeRunner.RUNNING))) {
+            throw new DataIntegrityViolationException(REGRADE_ALREADY_RUNNING);
+        }
+        checkSameQuestions(testId, test.getPublishedVersionId());
+
+        // Flushed so that a concurrent start losing on uq_regrade_jobs_active_test fails here, before the job is submitted
+        RegradeJob job = regradeJobRepository.saveAndFlush(RegradeJob.builder()
+            .testId(testId)
+            .testVersionId(test.getPublishedVersionId())
+            .status(RegradeRunner.PENDING)
+            .totalAttempts(Math.toIntExact(testAttemptRepository.countByTestIdAndStatus(testId, COMPLETED)))
+            .processedAttempts(0)
+            .changedAttempts(0)
+            .createdBy(userId)
+            .build());
+
+        AfterCommit.run(() -> regradeRunner.submit(job.getId()));
+        log.info("Regrade job {} started for test {} with {} attempts", job.getId(), testId, job.getTotalAttempts());
+        return toResponse(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RegradeJobResponse getRegradeJob(UUID testId, UUID jobId) {
+        return regradeJobRepository.findByIdAndTestId(jobId, testId)
+            .map(this::toResponse)
+            .orElseThrow(() -> new NoSuchElementException(REGRADE_JOB_NOT_FOUND));
+    }
+
+    /**
+     * A regrade moves attempts to the published version, which is only sound when that version asks the same
+     * questions as the ones the attempts were taken on; otherwise scores and maximums would silently drift.
+     */
+    private void checkSameQuestions(UUID testId, UUID publishedVersionId) {
+        Set<UUID> published = questionIds(answerKeyCache.getVersion(publishedVersionId));
+        for (UUID versionId : testAttemptRepository.findVersionIdsByTestIdAndStatus(testId, COMPLETED)) {
+            if (versionId == null || versionId.equals(publishedVersionId)) {
+                continue;
+            }
+            if (!questionIds(answerKeyCache.getVersion(versionId)).equals(published)) {
+                throw new IllegalStateException(REGRADE_QUESTIONS_CHANGED);
+            }
+        }
+    }
+
+    private static Set<UUID> questionIds(AnswerKey answerKey) {
+        return answerKey.questions().stream().map(CompiledQuestion::id).collect(Collectors.toSet());
+    }
+
+    private RegradeJobResponse toResponse(RegradeJob job) {
+        return new RegradeJobResponse(
+            job.getId(),
+            job.getTestId(),
+            job.getTestVersionId(),
+            job.getStatus(),
+            job.getTotalAttempts(),
+            job.getProcessedAttempts(),
+            job.getChangedAttempts(),
+            job.getErrorMessage(),
+            job.getStartedAt(),
+            job.getFinishedAt(),
+            job.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,299 @@
+package com.qanunqapisi.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qanunqapisi.repository.TestRepository;
+import com.qanunqapisi.service.ResultExportService;
+import com.qanunqapisi.service.export.ExportFormat;
+import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_FOUND;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResultExportServiceImpl implements ResultExportService {
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String ATTEMPT_COLUMNS =
+        "a.id AS attempt_id, a.user_id, u.email, u.first_name, u.last_name, " +
+            "a.total_score, a.max_possible_score, a.started_at, a.submitted_at";
+
+    private static final String ANSWER_COLUMNS =
+        ", ua.question_id, q.order_index AS question_order, " +
+            "array_to_string(ua.selected_answer_ids, ';') AS selected_answer_ids, " +
+            "ua.open_text_answer, ua.is_correct, ua.score_earned";
+
+    private static final String ATTEMPTS_SQL =
+        "SELECT " + ATTEMPT_COLUMNS + " FROM test_attempts a " +
+            "JOIN users u ON u.id = a.user_id " +
+            "WHERE a.test_id = ? AND a.status = 'COMPLETED' " +
+            "ORDER BY a.submitted_at, a.id";
+
+    private static final String ATTEMPTS_WITH_ANSWERS_SQL =
+        "SELECT " + ATTEMPT_COLUMNS + ANSWER_COLUMNS + " FROM test_attempts a " +
+            "JOIN users u ON u.id = a.user_id " +
+            "LEFT JOIN user_answers ua ON ua.test_attempt_id = a.id " +
+            "LEFT JOIN questions q ON q.id = ua.question_id " +
+            "WHERE a.test_id = ? AND a.status = 'COMPLETED' " +
+            "ORDER BY a.submitted_at, a.id, q.order_index";
+
+    private static final String[] ATTEMPT_HEADER = {
+        "attempt_id", "user_id", "email", "first_name", "last_name",
+        "total_score", "max_possible_score", "started_at", "submitted_at"
+    };
+
+    private static final String[] ANSWER_HEADER = {
+        "question_id", "question_order", "selected_answer_ids", "open_text_answer", "is_correct", "score_earned"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final TestRepository testRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public StreamingResponseBody exportResults(UUID testId, ExportFormat format, boolean includeAnswers) {
+        // Checked up front so a missing test is still a 404 rather than an empty download
+        if (!testRepository.existsById(testId)) {
+            throw new NoSuchElementException(TEST_NOT_FOUND);
+        }
+
+        return out -> {
+            RowWriter writer = switch (format) {
+                case CSV -> new CsvRowWriter(out, includeAnswers);
+                case NDJSON -> new NdjsonRowWriter(objectMapper.getFactory().createGenerator(out), includeAnswers);
+            };
+            try {
+                stream(testId, includeAnswers, writer);
+                writer.finish();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void stream(UUID testId, boolean includeAnswers, RowWriter writer) {
+        String sql = includeAnswers ? ATTEMPTS_WITH_ANSWERS_SQL : ATTEMPTS_SQL;
+
+        // PostgreSQL only honours the fetch size (server-side cursor) inside a transaction
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setObject(1, testId);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        ));
+        log.debug("Exported results of test {}", testId);
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer out;
+        private final boolean includeAnswers;
+
+        CsvRowWriter(OutputStream out, boolean includeAnswers) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.includeAnswers = includeAnswers;
+            writeLine(includeAnswers ? concat(ATTEMPT_HEADER, ANSWER_HEADER) : ATTEMPT_HEADER);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            String[] attempt = {
+                rs.getString("attempt_id"),
+                rs.getString("user_id"),
+                rs.getString("email"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("total_score"),
+                rs.getString("max_possible_score"),
+                timestamp(rs, "started_at"),
+                timestamp(rs, "submitted_at")
+            };
+            if (!includeAnswers) {
+                writeLine(attempt);
+                return;
+            }
+            writeLine(concat(attempt, new String[]{
+                rs.getString("question_id"),
+                rs.getString("question_order"),
+                rs.getString("selected_answer_ids"),
+                rs.getString("open_text_answer"),
+                Objects.toString(rs.getObject("is_correct", Boolean.class), null),
+                rs.getString("score_earned")
+            }));
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private void writeLine(String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(escape(values[i]));
+            }
+            out.write("\r\n");
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            // Names, emails and open-text answers are user input; spreadsheets would run them as formulas
+            if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        private static String[] concat(String[] first, String[] second) {
+            String[] result = new String[first.length + second.length];
+            System.arraycopy(first, 0, result, 0, first.length);
+            System.arraycopy(second, 0, result, first.length, second.length);
+            return result;
+        }
+    }
+
+    /**
+     * Writes one JSON object per attempt. With answers, rows of the same attempt arrive
+     * consecutively, so only the attempt currently being written is held open.
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator json;
+        private final boolean includeAnswers;
+        private UUID currentAttemptId;
+
+        NdjsonRowWriter(JsonGenerator json, boolean includeAnswers) {
+            // Lines are ended with '\n' below; the default root separator would prefix each later line with a space
+            json.setRootValueSeparator(null);
+            this.json = json;
+            this.includeAnswers = includeAnswers;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            UUID attemptId = rs.getObject("attempt_id", UUID.class);
+            if (!attemptId.equals(currentAttemptId)) {
+                endAttempt();
+                startAttempt(rs, attemptId);
+            }
+            if (includeAnswers && rs.getObject("question_id") != null) {
+                writeAnswer(rs);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            endAttempt();
+            json.flush();
+        }
+
+        private void startAttempt(ResultSet rs, UUID attemptId) throws SQLException, IOException {
+            currentAttemptId = attemptId;
+            json.writeStartObject();
+            json.writeStringField("attemptId", attemptId.toString());
+            json.writeStringField("userId", rs.getString("user_id"));
+            json.writeStringField("email", rs.getString("email"));
+            json.writeStringField("firstName", rs.getString("first_name"));
+            json.writeStringField("lastName", rs.getString("last_name"));
+            writeInteger("totalScore", rs, "total_score");
+            writeInteger("maxPossibleScore", rs, "max_possible_score");
+            json.writeStringField("startedAt", timestamp(rs, "started_at"));
+            json.writeStringField("submittedAt", timestamp(rs, "submitted_at"));
+            if (includeAnswers) {
+                json.writeArrayFieldStart("answers");
+            }
+        }
+
+        private void writeAnswer(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeStringField("questionId", rs.getString("question_id"));
+            writeInteger("questionOrder", rs, "question_order");
+            String selected = rs.getString("selected_answer_ids");
+            json.writeArrayFieldStart("selectedAnswerIds");
+            if (selected != null && !selected.isEmpty()) {
+                for (String answerId : selected.split(";")) {
+                    json.writeString(answerId);
+                }
+            }
+            json.writeEndArray();
+            json.writeStringField("openTextAnswer", rs.getString("open_text_answer"));
+            json.writeBooleanField("isCorrect", rs.getBoolean("is_correct"));
+            json.writeNumberField("scoreEarned", rs.getInt("score_earned"));
+            json.writeEndObject();
+        }
+
+        private void endAttempt() throws IOException {
+            if (currentAttemptId == null) {
+                return;
+            }
+            if (includeAnswers) {
+                json.writeEndArray();
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+            currentAttemptId = null;
+        }
+
+        private void writeInteger(String field, ResultSet rs, String column) throws SQLException, IOException {
+            Integer value = rs.getObject(column, Integer.class);
+            if (value == null) {
+                json.writeNullField(field);
+            } else {
+                json.writeNumberField(field, value);
+            }
+        }
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        return Objects.toString(value, null);
+    }
+}
@@ -2,46 +2,61 @@ package com.qanunqapisi.service.impl;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.qanunqapisi.domain.Answer;
-import com.qanunqapisi.domain.Question;
-import com.qanunqapisi.domain.Role;
+import com.qanunqapisi.config.jwt.AuthenticatedUser;
+import com.qanunqapisi.domain.AnswerStats;
+import com.qanunqapisi.domain.QuestionStats;
 import com.qanunqapisi.domain.Test;
 import com.qanunqapisi.domain.TestAttempt;
+import com.qanunqapisi.domain.TestStatistics;
 import com.qanunqapisi.domain.User;
 import com.qanunqapisi.domain.UserAnswer;
+import com.qanunqapisi.dto.request.page.CursorPageRequest;
 import com.qanunqapisi.dto.request.test.SubmitAnswerRequest;
 import com.qanunqapisi.dto.request.test.SubmitTestRequest;
-import com.qanunqapisi.dto.response.test.AnswerResponse;
+import com.qanunqapisi.dto.response.admin.TestAttemptAdminResponse;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
+import com.qanunqapisi.dto.response.test.AnswerStatsResponse;
 import com.qanunqapisi.dto.response.test.QuestionResultResponse;
+import com.qanunqapisi.dto.response.test.QuestionStatsResponse;
 import com.qanunqapisi.dto.response.test.TestAttemptResponse;
 import com.qanunqapisi.dto.response.test.TestResultResponse;
-import com.qanunqapisi.repository.AnswerRepository;
-import com.qanunqapisi.repository.QuestionRepository;
-import com.qanunqapisi.repository.RoleRepository;
+import com.qanunqapisi.repository.AnswerStatsRepository;
+import com.qanunqapisi.repository.QuestionStatsRepository;
 import com.qanunqapisi.repository.TestAttemptRepository;
 import com.qanunqapisi.repository.TestRepository;
+import com.qanunqapisi.repository.TestStatisticsRepository;
 import com.qanunqapisi.repository.UserAnswerRepository;
 import com.qanunqapisi.repository.UserRepository;
 import com.qanunqapisi.service.TestAttemptService;
+import com.qanunqapisi.service.scoring.AnswerKey;
+import com.qanunqapisi.service.scoring.AnswerKeyCache;
+import com.qanunqapisi.service.scoring.AttemptResultCache;
+import com.qanunqapisi.service.scoring.CompiledQuestion;
+import com.qanunqapisi.service.statistics.QuestionStatsAggregator;
+import com.qanunqapisi.service.statistics.ScoreRankIndex;
+import com.qanunqapisi.service.statistics.ScoreStatistics;
+import com.qanunqapisi.service.versioning.TestSnapshot;
+import com.qanunqapisi.service.versioning.TestVersionStore;
+import com.qanunqapisi.util.JsonSnapshot;
+import com.qanunqapisi.util.KeysetCursor;
 import static com.qanunqapisi.util.ErrorMessages.ATTEMPT_NOT_FOUND;
 import static com.qanunqapisi.util.ErrorMessages.ATTEMPT_NOT_IN_PROGRESS;
 import static com.qanunqapisi.util.ErrorMessages.CANNOT_START_PREMIUM_TEST;
-import static com.qanunqapisi.util.ErrorMessages.ROLE_NOT_FOUND;
 import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_FOUND;
 import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_PUBLISHED;
 import static com.qanunqapisi.util.ErrorMessages.USER_NOT_FOUND;
@@ -59,18 +74,21 @@ public class TestAttemptServiceImpl implements TestAttemptService {
     private static final String COMPLETED = "COMPLETED";
 
     private final TestRepository testRepository;
-    private final QuestionRepository questionRepository;
-    private final AnswerRepository answerRepository;
     private final UserRepository userRepository;
     private final TestAttemptRepository testAttemptRepository;
     private final UserAnswerRepository userAnswerRepository;
-    private final RoleRepository roleRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final AttemptResultCache attemptResultCache;
+    private final TestStatisticsRepository testStatisticsRepository;
+    private final QuestionStatsRepository questionStatsRepository;
+    private final AnswerStatsRepository answerStatsRepository;
+    private final QuestionStatsAggregator questionStatsAggregator;
+    private final ScoreRankIndex scoreRankIndex;
+    private final TestVersionStore testVersionStore;
 
     @Override
     public TestAttemptResponse startTest(UUID testId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByEmail(auth.getName())
-            .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
+        AuthenticatedUser user = AuthenticatedUser.current();
 
         Test test = testRepository.findById(testId)
             .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
@@ -79,40 +97,47 @@ public class TestAttemptServiceImpl implements TestAttemptService {
             throw new IllegalStateException(TEST_NOT_PUBLISHED);
         }
 
-        Role role = roleRepository.findById(user.getRoleId())
-            .orElseThrow(() -> new NoSuchElementException(ROLE_NOT_FOUND));
+        // Attempts are taken on the published version, not on unpublished edits of the live rows
+        TestSnapshot published = test.getPublishedVersionId() != null
+            ? testVersionStore.read(test.getPublishedVersionId())
+            : TestSnapshot.of(test, List.of());
 
-        if (Boolean.TRUE.equals(test.getIsPremium()) && !Boolean.TRUE.equals(user.getIsPremium()) && !"ADMIN".equals(role.getTitle())) {
+        if (Boolean.TRUE.equals(published.isPremium()) && !user.premium() && !user.isAdmin()) {
             throw new IllegalStateException(CANNOT_START_PREMIUM_TEST);
         }
 
         List<TestAttempt> existingAttempts = testAttemptRepository
-            .findByUserIdAndTestIdAndStatusOrderByStartedAtDesc(user.getId(), testId, IN_PROGRESS);
+            .findByUserIdAndTestIdAndStatusOrderByStartedAtDesc(user.id(), testId, IN_PROGRESS);
         
         TestAttempt attempt;
         if (!existingAttempts.isEmpty()) {
             attempt = existingAttempts.get(0);
             log.debug("Reusing existing IN_PROGRESS attempt {} for user {} and test {}", 
-                attempt.getId(), user.getId(), testId);
+                attempt.getId(), user.id(), testId);
         } else {
+            // The principal comes from token claims; an account deleted since the token was issued has no row
+            if (!userRepository.existsById(user.id())) {
+                throw new NoSuchElementException(USER_NOT_FOUND);
+            }
             attempt = TestAttempt.builder()
-                .userId(user.getId())
+                .userId(user.id())
                 .testId(testId)
+                .testVersionId(test.getPublishedVersionId())
                 .totalScore(0)
-                .maxPossibleScore(test.getTotalPossibleScore())
+                .maxPossibleScore(published.totalPossibleScore())
                 .status(IN_PROGRESS)
                 .startedAt(LocalDateTime.now())
                 .build();
 
             testAttemptRepository.save(attempt);
             log.debug("Created new attempt {} for user {} and test {}", 
-                attempt.getId(), user.getId(), testId);
+                attempt.getId(), user.id(), testId);
         }
 
         return new TestAttemptResponse(
             attempt.getId(),
             test.getId(),
-            test.getTitle(),
+            published.title(),
             attempt.getTotalScore(),
             attempt.getMaxPossibleScore(),
             attempt.getStatus(),
@@ -123,76 +148,94 @@ public class TestAttemptServiceImpl implements TestAttemptService {
 
     @Override
     public TestResultResponse submitTest(UUID testId, @Valid SubmitTestRequest request) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByEmail(auth.getName())
-            .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
-
-        Test test = testRepository.findById(testId)
-            .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
+        AuthenticatedUser user = AuthenticatedUser.current();
 
+        // Locked so that a concurrent submit of the same attempt waits and then finds it completed
         List<TestAttempt> inProgressAttempts = testAttemptRepository
-            .findByUserIdAndTestIdAndStatusOrderByStartedAtDesc(user.getId(), testId, IN_PROGRESS);
+            .lockByUserIdAndTestIdAndStatus(user.id(), testId, IN_PROGRESS);
         
         if (inProgressAttempts.isEmpty()) {
             throw new NoSuchElementException(ATTEMPT_NOT_FOUND);
         }
         
         TestAttempt attempt = inProgressAttempts.get(0);
+        AnswerKey answerKey = answerKeyOf(attempt);
         
         if (inProgressAttempts.size() > 1) {
             log.warn("Found {} duplicate IN_PROGRESS attempts for user {} and test {}. Completing extras.", 
-                inProgressAttempts.size(), user.getId(), testId);
+                inProgressAttempts.size(), user.id(), testId);
             for (int i = 1; i < inProgressAttempts.size(); i++) {
                 TestAttempt extraAttempt = inProgressAttempts.get(i);
                 extraAttempt.setStatus(COMPLETED);
                 extraAttempt.setTotalScore(0);
                 extraAttempt.setSubmittedAt(LocalDateTime.now());
                 testAttemptRepository.save(extraAttempt);
+                recordStatistics(extraAttempt);
+                scoreRankIndex.recordAfterCommit(testId, 0);
             }
         }
 
-        List<Question> questions = questionRepository.findByTestIdOrderByOrderIndex(testId);
         Map<UUID, SubmitAnswerRequest> answerMap = request.answers().stream()
             .collect(Collectors.toMap(SubmitAnswerRequest::questionId, a -> a));
 
-        List<QuestionResultResponse> questionResults = new ArrayList<>();
+        List<UserAnswer> userAnswers = new ArrayList<>(answerKey.questions().size());
+        List<QuestionResultResponse> questionResults = new ArrayList<>(answerKey.questions().size());
         int totalScore = 0;
 
-        for (Question question : questions) {
-            SubmitAnswerRequest userAnswer = answerMap.get(question.getId());
-            QuestionResultResponse result = scoreQuestion(question, userAnswer, attempt.getId());
-            questionResults.add(result);
-            totalScore += result.scoreEarned();
+        for (CompiledQuestion question : answerKey.questions()) {
+            SubmitAnswerRequest userAnswer = answerMap.get(question.id());
+            UserAnswer answer = scoreQuestion(question, userAnswer, attempt.getId());
+            userAnswers.add(answer);
+            questionResults.add(buildQuestionResult(question, answer));
+            totalScore += answer.getScoreEarned();
         }
 
+        // Persisted together so Hibernate flushes them as a single JDBC batch
+        userAnswerRepository.saveAll(userAnswers);
+        questionStatsAggregator.recordAfterCommit(testId, userAnswers);
+
         attempt.setTotalScore(totalScore);
+        attempt.setMaxPossibleScore(answerKey.totalPossibleScore());
         attempt.setStatus(COMPLETED);
         attempt.setSubmittedAt(LocalDateTime.now());
         testAttemptRepository.save(attempt);
+        recordStatistics(attempt);
 
-        return new TestResultResponse(
+        // Ranked against the other completed attempts; this one joins the histogram once committed
+        Double percentileRank = scoreRankIndex.percentileRank(testId, totalScore);
+        scoreRankIndex.recordAfterCommit(testId, totalScore);
+
+        TestResultResponse result = new TestResultResponse(
             attempt.getId(),
-            test.getId(),
-            test.getTitle(),
+            answerKey.testId(),
+            answerKey.title(),
             totalScore,
-            test.getTotalPossibleScore(),
+            answerKey.totalPossibleScore(),
+            null,
             attempt.getStartedAt(),
             attempt.getSubmittedAt(),
             questionResults
         );
+        // The rank changes as others submit, so it is not part of the cached immutable result
+        attemptResultCache.putAfterCommit(result);
+        return result.withPercentileRank(percentileRank);
+    }
+
+    private void recordStatistics(TestAttempt attempt) {
+        int bucket = ScoreStatistics.bucketOf(attempt.getTotalScore(), attempt.getMaxPossibleScore());
+        testStatisticsRepository.recordAttempt(
+            attempt.getTestId(), attempt.getUserId(), attempt.getId(), attempt.getTotalScore(), bucket);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TestAttemptResponse> getTestAttempts(UUID testId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByEmail(auth.getName())
-            .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
+        AuthenticatedUser user = AuthenticatedUser.current();
 
         Test test = testRepository.findById(testId)
             .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
 
-        List<TestAttempt> attempts = testAttemptRepository.findByUserIdAndTestId(user.getId(), testId);
+        List<TestAttempt> attempts = testAttemptRepository.findByUserIdAndTestId(user.id(), testId);
 
         return attempts.stream()
             .map(attempt -> new TestAttemptResponse(
@@ -208,6 +251,19 @@ public class TestAttemptServiceImpl implements TestAttemptService {
             .toList();
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public JsonSnapshot getAttemptResultsJson(UUID attemptId) {
+        // Runs without a transaction so that a cache hit never borrows a connection
+        JsonSnapshot cached = attemptResultCache.get(attemptId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = attemptResultCache.generation();
+        return attemptResultCache.put(getAttemptResults(attemptId), generation);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public TestResultResponse getAttemptResults(UUID attemptId) {
@@ -218,199 +274,126 @@ public class TestAttemptServiceImpl implements TestAttemptService {
             throw new IllegalStateException(ATTEMPT_NOT_IN_PROGRESS);
         }
 
-        Test test = testRepository.findById(attempt.getTestId())
-            .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
+        AnswerKey answerKey = answerKeyOf(attempt);
 
         List<UserAnswer> userAnswers = userAnswerRepository.findByTestAttemptId(attemptId);
         Map<UUID, UserAnswer> answerMap = userAnswers.stream()
             .collect(Collectors.toMap(UserAnswer::getQuestionId, a -> a));
 
-        List<Question> questions = questionRepository.findByTestIdOrderByOrderIndex(test.getId());
-
-        List<UUID> questionIds = questions.stream().map(Question::getId).toList();
-        List<Answer> allAnswers = questionIds.isEmpty() ?
-            List.of() :
-            answerRepository.findByQuestionIdInOrderByQuestionIdAndOrderIndex(questionIds);
-        Map<UUID, List<Answer>> answersByQuestionId = allAnswers.stream()
-            .collect(Collectors.groupingBy(Answer::getQuestionId));
-
-        List<QuestionResultResponse> questionResults = questions.stream()
-            .map(question -> {
-                UserAnswer userAnswer = answerMap.get(question.getId());
-                return buildQuestionResultOptimized(question, userAnswer, answersByQuestionId);
-            })
+        List<QuestionResultResponse> questionResults = answerKey.questions().stream()
+            .map(question -> buildQuestionResult(question, answerMap.get(question.id())))
             .toList();
 
         return new TestResultResponse(
             attempt.getId(),
-            test.getId(),
-            test.getTitle(),
+            answerKey.testId(),
+            answerKey.title(),
             attempt.getTotalScore(),
             attempt.getMaxPossibleScore(),
+            null,
             attempt.getStartedAt(),
             attempt.getSubmittedAt(),
             questionResults
         );
     }
 
-    private QuestionResultResponse scoreQuestion(Question question, SubmitAnswerRequest userAnswer, UUID attemptId) {
+    /**
+     * Key of the version the attempt was taken on. Attempts without one were taken on a test
+     * that has no frozen version, so its live content is what they saw.
+     */
+    private AnswerKey answerKeyOf(TestAttempt attempt) {
+        return attempt.getTestVersionId() != null
+            ? answerKeyCache.getVersion(attempt.getTestVersionId())
+            : answerKeyCache.get(attempt.getTestId());
+    }
+
+    private UserAnswer scoreQuestion(CompiledQuestion question, SubmitAnswerRequest userAnswer, UUID attemptId) {
         List<UUID> selectedAnswerIds = userAnswer != null ? userAnswer.selectedAnswerIds() : null;
         String openTextAnswer = userAnswer != null ? userAnswer.openTextAnswer() : null;
 
-        boolean isCorrect = evaluateAnswer(question, selectedAnswerIds, openTextAnswer);
-        int scoreEarned = isCorrect ? question.getScore() : 0;
+        int scoreEarned = question.evaluate(selectedAnswerIds, openTextAnswer);
+        boolean isCorrect = scoreEarned == question.score();
 
-        UserAnswer answer = UserAnswer.builder()
+        return UserAnswer.builder()
             .testAttemptId(attemptId)
-            .questionId(question.getId())
+            .questionId(question.id())
             .selectedAnswerIds(selectedAnswerIds)
             .openTextAnswer(openTextAnswer)
             .isCorrect(isCorrect)
             .scoreEarned(scoreEarned)
             .answeredAt(LocalDateTime.now())
             .build();
-        userAnswerRepository.save(answer);
-
-        return buildQuestionResult(question, answer);
-    }
-
-    private boolean evaluateAnswer(Question question, List<UUID> selectedAnswerIds, String openTextAnswer) {
-        if ("CLOSED_SINGLE".equals(question.getQuestionType())) {
-            return evaluateSingleChoice(question, selectedAnswerIds);
-        } else if ("CLOSED_MULTIPLE".equals(question.getQuestionType())) {
-            return evaluateMultipleChoice(question, selectedAnswerIds);
-        } else if ("OPEN_TEXT".equals(question.getQuestionType())) {
-            return evaluateOpenText(question, openTextAnswer);
-        }
-        return false;
-    }
-
-    private boolean evaluateSingleChoice(Question question, List<UUID> selectedAnswerIds) {
-        if (selectedAnswerIds == null || selectedAnswerIds.size() != 1) {
-            return false;
-        }
-        List<Answer> correctAnswers = answerRepository.findByQuestionIdAndIsCorrect(question.getId(), true);
-        return correctAnswers.size() == 1 && correctAnswers.get(0).getId().equals(selectedAnswerIds.get(0));
-    }
-
-    private boolean evaluateMultipleChoice(Question question, List<UUID> selectedAnswerIds) {
-        if (selectedAnswerIds == null || selectedAnswerIds.isEmpty()) {
-            return false;
-        }
-        List<Answer> correctAnswers = answerRepository.findByQuestionIdAndIsCorrect(question.getId(), true);
-        Set<UUID> correctIds = correctAnswers.stream().map(Answer::getId).collect(Collectors.toSet());
-        Set<UUID> selectedIds = new HashSet<>(selectedAnswerIds);
-        return correctIds.equals(selectedIds);
-    }
-
-    private boolean evaluateOpenText(Question question, String openTextAnswer) {
-        if (openTextAnswer == null) {
-            return false;
-        }
-        String normalized = normalizeText(openTextAnswer);
-        return normalized.equals(question.getCorrectAnswer());
     }
 
-    private QuestionResultResponse buildQuestionResult(Question question, UserAnswer userAnswer) {
-        List<Answer> allAnswers = answerRepository.findByQuestionIdOrderByOrderIndex(question.getId());
-        List<AnswerResponse> answerResponses = allAnswers.stream()
-            .map(a -> new AnswerResponse(a.getId(), a.getAnswerText(), a.getIsCorrect(), a.getOrderIndex()))
-            .toList();
-
-        List<UUID> correctAnswerIds = null;
-        if ("CLOSED_SINGLE".equals(question.getQuestionType()) ||
-            "CLOSED_MULTIPLE".equals(question.getQuestionType())) {
-            correctAnswerIds = allAnswers.stream()
-                .filter(Answer::getIsCorrect)
-                .map(Answer::getId)
-                .toList();
-        }
-
+    private QuestionResultResponse buildQuestionResult(CompiledQuestion question, UserAnswer userAnswer) {
         List<UUID> selectedAnswerIds = userAnswer != null ? userAnswer.getSelectedAnswerIds() : null;
 
         return new QuestionResultResponse(
-            question.getId(),
-            question.getQuestionType(),
-            question.getQuestionText(),
-            question.getScore(),
-            question.getOrderIndex(),
+            question.id(),
+            question.questionType(),
+            question.questionText(),
+            question.score(),
+            question.orderIndex(),
             userAnswer != null && Boolean.TRUE.equals(userAnswer.getIsCorrect()),
             userAnswer != null ? userAnswer.getScoreEarned() : 0,
             selectedAnswerIds,
             userAnswer != null ? userAnswer.getOpenTextAnswer() : null,
-            correctAnswerIds,
-            question.getCorrectAnswer(),
-            answerResponses
+            question.correctAnswerIds(),
+            question.correctAnswer(),
+            question.answers()
         );
     }
 
-    private QuestionResultResponse buildQuestionResultOptimized(
-        Question question,
-        UserAnswer userAnswer,
-        Map<UUID, List<Answer>> answersByQuestionId) {
-
-        List<Answer> allAnswers = answersByQuestionId.getOrDefault(question.getId(), List.of());
-        List<AnswerResponse> answerResponses = allAnswers.stream()
-            .map(a -> new AnswerResponse(a.getId(), a.getAnswerText(), a.getIsCorrect(), a.getOrderIndex()))
-            .toList();
-
-        List<UUID> correctAnswerIds = null;
-        if ("CLOSED_SINGLE".equals(question.getQuestionType()) ||
-            "CLOSED_MULTIPLE".equals(question.getQuestionType())) {
-            correctAnswerIds = allAnswers.stream()
-                .filter(Answer::getIsCorrect)
-                .map(Answer::getId)
-                .toList();
-        }
-
-        List<UUID> selectedAnswerIds = userAnswer != null ? userAnswer.getSelectedAnswerIds() : null;
-
-        return new QuestionResultResponse(
-            question.getId(),
-            question.getQuestionType(),
-            question.getQuestionText(),
-            question.getScore(),
-            question.getOrderIndex(),
-            userAnswer != null && Boolean.TRUE.equals(userAnswer.getIsCorrect()),
-            userAnswer != null ? userAnswer.getScoreEarned() : 0,
-            selectedAnswerIds,
-            userAnswer != null ? userAnswer.getOpenTextAnswer() : null,
-            correctAnswerIds,
-            question.getCorrectAnswer(),
-            answerResponses
-        );
-    }
+    @Override
+    @Transactional(readOnly = true)
+    public Page<com.qanunqapisi.dto.response.admin.TestAttemptAdminResponse> getTestResultsForAdmin(UUID testId, Pageable pageable) {
+        testRepository.findById(testId)
+            .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
 
-    private String normalizeText(String text) {
-        if (text == null) return "";
-        return text.toLowerCase().trim();
+        // Users are joined in the same query rather than looked up per row
+        return testAttemptRepository.findAdminResultsByTestIdAndStatus(testId, COMPLETED, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<com.qanunqapisi.dto.response.admin.TestAttemptAdminResponse> getTestResultsForAdmin(UUID testId, Pageable pageable) {
+    public CursorPageResponse<TestAttemptAdminResponse> scrollTestResultsForAdmin(UUID testId, CursorPageRequest request) {
         testRepository.findById(testId)
             .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
 
-        Page<TestAttempt> attempts = testAttemptRepository.findByTestIdAndStatus(testId, COMPLETED, pageable);
+        Specification<TestAttempt> spec = (root, query, cb) -> cb.and(
+            cb.equal(root.get("testId"), testId),
+            cb.equal(root.get("status"), COMPLETED)
+        );
+        Window<TestAttempt> window = testAttemptRepository.findBy(spec, query -> query
+            .sortBy(KeysetCursor.sort(request))
+            .limit(request.size())
+            .scroll(KeysetCursor.position(request, TestAttempt.class)));
+        Long total = request.includeTotal() ? testAttemptRepository.countByTestIdAndStatus(testId, COMPLETED) : null;
+
+        // Users of the whole page are fetched in one query
+        Map<UUID, User> usersById = userRepository.findAllById(window.stream().map(TestAttempt::getUserId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<TestAttemptAdminResponse> content = window.stream()
+            .map(attempt -> toAdminResponse(attempt, usersById.get(attempt.getUserId())))
+            .toList();
 
-        return attempts.map(attempt -> {
-            User user = userRepository.findById(attempt.getUserId())
-                .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
+        return KeysetCursor.page(window, request, content, total);
+    }
 
-            return new com.qanunqapisi.dto.response.admin.TestAttemptAdminResponse(
-                attempt.getId(),
-                user.getId(),
-                user.getEmail(),
-                user.getFirstName(),
-                user.getLastName(),
-                attempt.getTotalScore(),
-                attempt.getMaxPossibleScore(),
-                attempt.getStatus(),
-                attempt.getStartedAt(),
-                attempt.getSubmittedAt()
-            );
-        });
+    private TestAttemptAdminResponse toAdminResponse(TestAttempt attempt, User user) {
+        return new TestAttemptAdminResponse(
+            attempt.getId(),
+            attempt.getUserId(),
+            user != null ? user.getEmail() : null,
+            user != null ? user.getFirstName() : null,
+            user != null ? user.getLastName() : null,
+            attempt.getTotalScore(),
+            attempt.getMaxPossibleScore(),
+            attempt.getStatus(),
+            attempt.getStartedAt(),
+            attempt.getSubmittedAt()
+        );
     }
 
     @Override
@@ -419,12 +402,58 @@ public class TestAttemptServiceImpl implements TestAttemptService {
         Test test = testRepository.findById(testId)
             .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
 
-        long totalParticipants = testAttemptRepository.countDistinctUserIdByTestId(testId);
+        // Maintained on submission, so no aggregation over test_attempts is needed here
+        TestStatistics statistics = testStatisticsRepository.findById(testId).orElse(null);
+        return ScoreStatistics.toResponse(test, statistics);
+    }
 
-        return new com.qanunqapisi.dto.response.test.TestStatisticsResponse(
-            test.getId(),
-            test.getTitle(),
-            totalParticipants
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuestionStatsResponse> getQuestionStatistics(UUID testId) {
+        AnswerKey answerKey = answerKeyCache.get(testId);
+
+        Map<UUID, QuestionStats> statsByQuestion = questionStatsRepository.findByTestId(testId).stream()
+            .collect(Collectors.toMap(QuestionStats::getQuestionId, s -> s));
+        List<UUID> questionIds = answerKey.questions().stream().map(CompiledQuestion::id).toList();
+        Map<UUID, Long> selectionsByAnswer = answerStatsRepository.findByQuestionIdIn(questionIds).stream()
+            .collect(Collectors.toMap(AnswerStats::getAnswerId, AnswerStats::getSelectionCount));
+
+        return answerKey.questions().stream()
+            .map(question -> buildQuestionStats(question, statsByQuestion.get(question.id()), selectionsByAnswer))
+            .toList();
+    }
+
+    private QuestionStatsResponse buildQuestionStats(CompiledQuestion question, QuestionStats stats,
+                                                     Map<UUID, Long> selectionsByAnswer) {
+        long correct = stats != null ? stats.getCorrectCount() : 0L;
+        long incorrect = stats != null ? stats.getIncorrectCount() : 0L;
+        long skipped = stats != null ? stats.getSkippedCount() : 0L;
+        long total = correct + incorrect + skipped;
+
+        List<AnswerStatsResponse> answers = question.answers().stream()
+            .map(answer -> {
+                long selections = selectionsByAnswer.getOrDefault(answer.id(), 0L);
+                return new AnswerStatsResponse(
+                    answer.id(),
+                    answer.answerText(),
+                    answer.isCorrect(),
+                    selections,
+                    total > 0 ? (double) selections / total : null
+                );
+            })
+            .toList();
+
+        return new QuestionStatsResponse(
+            question.id(),
+            question.orderIndex(),
+            question.questionType(),
+            question.questionText(),
+            total,
+            correct,
+            incorrect,
+            skipped,
+            total > 0 ? (double) correct / total : null,
+            answers
         );
     }
 }
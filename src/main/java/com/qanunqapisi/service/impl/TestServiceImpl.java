@@ -2,54 +2,69 @@ package com.qanunqapisi.service.impl;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.qanunqapisi.config.jwt.AuthenticatedUser;
 import com.qanunqapisi.domain.Answer;
 import com.qanunqapisi.domain.Question;
-import com.qanunqapisi.domain.Role;
 import com.qanunqapisi.domain.Test;
-import com.qanunqapisi.domain.User;
+import com.qanunqapisi.domain.TestVersion;
+import com.qanunqapisi.dto.request.page.CursorPageRequest;
 import com.qanunqapisi.dto.request.test.CreateAnswerRequest;
 import com.qanunqapisi.dto.request.test.CreateQuestionRequest;
 import com.qanunqapisi.dto.request.test.CreateTestRequest;
 import com.qanunqapisi.dto.request.test.UpdateTestRequest;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
 import com.qanunqapisi.dto.response.test.AnswerResponse;
 import com.qanunqapisi.dto.response.test.QuestionResponse;
+import com.qanunqapisi.dto.response.test.QuestionSearchResponse;
 import com.qanunqapisi.dto.response.test.QuestionTypeCount;
 import com.qanunqapisi.dto.response.test.TestDetailResponse;
 import com.qanunqapisi.dto.response.test.TestResponse;
+import com.qanunqapisi.exception.TestValidationException;
 import com.qanunqapisi.repository.AnswerRepository;
 import com.qanunqapisi.repository.QuestionRepository;
-import com.qanunqapisi.repository.RoleRepository;
 import com.qanunqapisi.repository.TestAttemptRepository;
 import com.qanunqapisi.repository.TestRepository;
 import com.qanunqapisi.repository.UserAnswerRepository;
-import com.qanunqapisi.repository.UserRepository;
 import com.qanunqapisi.service.TestService;
+import com.qanunqapisi.service.authoring.QuestionBulkWriter;
+import com.qanunqapisi.service.authoring.PublishValidator;
+import com.qanunqapisi.service.authoring.QuestionDiff;
+import com.qanunqapisi.service.authoring.QuestionRequestValidator;
+import com.qanunqapisi.service.catalog.PublishedCatalog;
+import com.qanunqapisi.service.scoring.AnswerKeyCache;
+import com.qanunqapisi.service.scoring.AttemptResultCache;
+import com.qanunqapisi.service.search.TextSearch;
+import com.qanunqapisi.service.statistics.ScoreRankIndex;
+import com.qanunqapisi.service.versioning.TestSnapshot;
+import com.qanunqapisi.service.versioning.TestVersionStore;
+import com.qanunqapisi.util.JsonSnapshot;
+import com.qanunqapisi.util.KeysetCursor;
 import static com.qanunqapisi.util.ErrorMessages.CANNOT_START_PREMIUM_TEST;
-import static com.qanunqapisi.util.ErrorMessages.CLOSED_MULTIPLE_AT_LEAST_ONE;
-import static com.qanunqapisi.util.ErrorMessages.CLOSED_MULTIPLE_MUST_HAVE_ANSWER;
-import static com.qanunqapisi.util.ErrorMessages.CLOSED_SINGLE_MUST_HAVE_ANSWER;
-import static com.qanunqapisi.util.ErrorMessages.CLOSED_SINGLE_ONE_CORRECT;
-import static com.qanunqapisi.util.ErrorMessages.OPEN_TEXT_REQUIRES_ANSWER;
-import static com.qanunqapisi.util.ErrorMessages.ROLE_NOT_FOUND;
+import static com.qanunqapisi.util.ErrorMessages.SEARCH_QUERY_REQUIRED;
 import static com.qanunqapisi.util.ErrorMessages.TEST_ALREADY_PUBLISHED;
 import static com.qanunqapisi.util.ErrorMessages.TEST_MUST_HAVE_QUESTIONS;
 import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_FOUND;
-import static com.qanunqapisi.util.ErrorMessages.USER_NOT_FOUND;
+import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_PUBLISHABLE;
+import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_PUBLISHED;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -71,40 +86,47 @@ public class TestServiceImpl implements TestService {
     private final AnswerRepository answerRepository;
     private final TestAttemptRepository testAttemptRepository;
     private final UserAnswerRepository userAnswerRepository;
-    private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final AttemptResultCache attemptResultCache;
+    private final ScoreRankIndex scoreRankIndex;
+    private final PublishedCatalog publishedCatalog;
+    private final TransactionTemplate transactionTemplate;
+    private final QuestionBulkWriter questionBulkWriter;
+    private final TestVersionStore testVersionStore;
+    private final TextSearch textSearch;
 
     @Override
     public TestDetailResponse createTest(@Valid CreateTestRequest request) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByEmail(auth.getName())
-            .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
+        AuthenticatedUser user = AuthenticatedUser.current();
 
         if (request.questions() != null && !request.questions().isEmpty()) {
             validateQuestionOrderIndices(request.questions());
         }
 
         Test test = Test.builder()
-            .createdBy(user.getId())
+            .createdBy(user.id())
             .title(request.title())
             .description(request.description())
             .isPremium(request.isPremium())
             .status("DRAFT")
             .questionCount(0)
             .totalPossibleScore(0)
+            .closedSingleCount(0)
+            .closedMultipleCount(0)
+            .openTextCount(0)
+            .hasUnpublishedChanges(false)
             .build();
 
-        testRepository.save(test);
+        List<CreateQuestionRequest> questions = request.questions() != null ? request.questions() : List.of();
+        questions.forEach(QuestionRequestValidator::validate);
 
-        if (request.questions() != null && !request.questions().isEmpty()) {
-            for (int i = 0; i < request.questions().size(); i++) {
-                CreateQuestionRequest qReq = request.questions().get(i);
-                createQuestion(test.getId(), qReq, i);
-            }
-        }
+        // Flushed first so the batched question rows can reference it
+        testRepository.saveAndFlush(test);
+        List<QuestionResponse> questionResponses =
+            writeQuestions(test, QuestionDiff.compute(test.getId(), List.of(), Map.of(), questions));
+        testRepository.save(test);
 
-        recalculateTestScores(test.getId());
-        return getTest(test.getId());
+        return buildTestDetailResponse(test, questionResponses);
     }
 
     @Override
@@ -112,37 +134,41 @@ public class TestServiceImpl implements TestService {
         Test test = testRepository.findById(testId)
             .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
 
-        if (request.title() != null) {
+        boolean changed = false;
+        List<QuestionResponse> questionResponses = null;
+        if (request.questions() != null) {
+            validateQuestionOrderIndices(request.questions());
+            request.questions().forEach(QuestionRequestValidator::validate);
+
+            QuestionDiff diff = diffQuestions(test, request.questions());
+            changed = !diff.isEmpty();
+            questionResponses = writeQuestions(test, diff);
+        }
+
+        if (request.title() != null && !request.title().equals(test.getTitle())) {
             test.setTitle(request.title());
+            changed = true;
         }
-        if (request.description() != null) {
+        if (request.description() != null && !request.description().equals(test.getDescription())) {
             test.setDescription(request.description());
+            changed = true;
         }
-        if (request.isPremium() != null) {
+        if (request.isPremium() != null && !request.isPremium().equals(test.getIsPremium())) {
             test.setIsPremium(request.isPremium());
+            changed = true;
         }
 
-        if (request.questions() != null) {
-            validateQuestionOrderIndices(request.questions());
-
-            List<UUID> attemptIds = testAttemptRepository.findByTestId(testId)
-                .stream().map(com.qanunqapisi.domain.TestAttempt::getId).toList();
-            if (!attemptIds.isEmpty()) {
-                userAnswerRepository.deleteByTestAttemptIdIn(attemptIds);
-                testAttemptRepository.deleteByTestId(testId);
-            }
-
-            questionRepository.deleteByTestId(testId);
-
-            for (int i = 0; i < request.questions().size(); i++) {
-                CreateQuestionRequest qReq = request.questions().get(i);
-                createQuestion(testId, qReq, i);
-            }
+        // Students and attempts keep using the published version until the test is published again
+        if (changed && PUBLISHED.equals(test.getStatus())) {
+            test.setHasUnpublishedChanges(true);
         }
 
         testRepository.save(test);
-        recalculateTestScores(testId);
-        return getTest(testId);
+        answerKeyCache.invalidate(testId);
+
+        return questionResponses != null
+            ? buildTestDetailResponse(test, questionResponses)
+            : getTest(testId);
     }
 
     @Override
@@ -159,6 +185,10 @@ public class TestServiceImpl implements TestService {
         testAttemptRepository.deleteByTestId(testId);
 
         testRepository.delete(test);
+        answerKeyCache.invalidate(testId);
+        attemptResultCache.evictTest(testId);
+        scoreRankIndex.evictTest(testId);
+        publishedCatalog.evictTest(testId);
     }
 
     @Override
@@ -166,7 +196,8 @@ public class TestServiceImpl implements TestService {
         Test test = testRepository.findById(testId)
             .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
 
-        if (PUBLISHED.equals(test.getStatus())) {
+        if (PUBLISHED.equals(test.getStatus()) && test.getPublishedVersionId() != null &&
+            !Boolean.TRUE.equals(test.getHasUnpublishedChanges())) {
             throw new IllegalStateException(TEST_ALREADY_PUBLISHED);
         }
 
@@ -176,96 +207,35 @@ public class TestServiceImpl implements TestService {
             throw new IllegalStateException(TEST_MUST_HAVE_QUESTIONS);
         }
 
-        validateTestIntegrity(test, questions);
-
-        test.setStatus(PUBLISHED);
-        test.setPublishedAt(LocalDateTime.now());
-        testRepository.save(test);
-
-        return getTest(testId);
-    }
-
-    private void validateTestIntegrity(Test test, List<Question> questions) {
-        for (Question question : questions) {
-            validateQuestion(question);
-        }
-
-        validateOrderIndexContinuity(questions);
-
-        List<UUID> questionIds = questions.stream().map(Question::getId).toList();
-        List<Answer> allAnswers = answerRepository.findByQuestionIdInOrderByQuestionIdAndOrderIndex(questionIds);
-        Map<UUID, List<Answer>> answersByQuestion = allAnswers.stream()
-            .collect(Collectors.groupingBy(Answer::getQuestionId));
-
-        for (Question question : questions) {
-            List<Answer> answers = answersByQuestion.getOrDefault(question.getId(), List.of());
-            if ((CLOSED_SINGLE.equals(question.getQuestionType()) ||
-                CLOSED_MULTIPLE.equals(question.getQuestionType())) && answers.isEmpty()) {
-                throw new IllegalStateException(
-                    "Question at position " + question.getOrderIndex() +
-                        " requires answers but has none. Cannot publish test."
-                );
-            }
-
-            if (!answers.isEmpty()) {
-                validateAnswerOrderIndexContinuity(answers, question.getOrderIndex());
-            }
+        Map<UUID, List<Answer>> answersByQuestionId = loadAnswers(questions);
+        Map<String, String> violations = PublishValidator.validate(test, questions, answersByQuestionId);
+        if (!violations.isEmpty()) {
+            throw new TestValidationException(TEST_NOT_PUBLISHABLE, violations);
         }
 
         if (test.getQuestionCount() != questions.size()) {
             log.warn("Test {} has incorrect question count. Expected {}, found {}. Recalculating...",
-                test.getId(), questions.size(), test.getQuestionCount());
-            recalculateTestScores(test.getId());
+                testId, questions.size(), test.getQuestionCount());
         }
+        applyAggregates(test, questions);
 
-        if (test.getTitle() == null || test.getTitle().isBlank()) {
-            throw new IllegalStateException("Test must have a valid title");
-        }
-        if (test.getDescription() == null || test.getDescription().isBlank()) {
-            throw new IllegalStateException("Test must have a valid description");
-        }
-    }
-
-    private void validateOrderIndexContinuity(List<Question> questions) {
-        if (questions.isEmpty()) return;
-
-        List<Integer> indices = questions.stream()
-            .map(Question::getOrderIndex)
-            .sorted()
-            .toList();
-
-        Set<Integer> uniqueIndices = new HashSet<>(indices);
-        if (uniqueIndices.size() != indices.size()) {
-            throw new IllegalStateException(
-                "Questions have duplicate orderIndex values. Cannot publish. " +
-                    "Please edit the test to fix ordering."
-            );
-        }
+        TestSnapshot snapshot = TestSnapshot.of(test, toQuestionResponses(questions, answersByQuestionId));
+        TestVersion version = testVersionStore.freeze(snapshot);
 
-        int expectedMax = questions.size() - 1;
-        int actualMax = indices.get(indices.size() - 1);
-        if (actualMax > expectedMax * 2) {
-            log.warn("Test has large gaps in question orderIndex values. " +
-                    "Expected max {}, found {}. This might indicate a data issue.",
-                expectedMax, actualMax);
+        test.setStatus(PUBLISHED);
+        if (test.getPublishedAt() == null) {
+            test.setPublishedAt(LocalDateTime.now());
         }
-    }
-
-    private void validateAnswerOrderIndexContinuity(List<Answer> answers, int questionPosition) {
-        if (answers.isEmpty()) return;
+        test.setPublishedVersionId(version.getId());
+        test.setHasUnpublishedChanges(false);
+        testRepository.save(test);
 
-        List<Integer> indices = answers.stream()
-            .map(Answer::getOrderIndex)
-            .sorted()
-            .toList();
+        answerKeyCache.store(test, version.getId(), questions, answersByQuestionId);
+        publishedCatalog.evictTest(testId);
+        publishedCatalog.putTestAfterCommit(buildPublishedDetail(test, snapshot));
 
-        Set<Integer> uniqueIndices = new HashSet<>(indices);
-        if (uniqueIndices.size() != indices.size()) {
-            throw new IllegalStateException(
-                "Answers in question at position " + questionPosition +
-                    " have duplicate orderIndex values. Cannot publish."
-            );
-        }
+        log.info("Published test {} as version {}", testId, version.getVersionNumber());
+        return buildTestDetailResponse(test, snapshot.questions());
     }
 
     @Override
@@ -277,39 +247,40 @@ public class TestServiceImpl implements TestService {
         List<Question> questions = questionRepository.findByTestIdOrderByOrderIndex(testId);
 
         if (questions.isEmpty()) {
-            return buildTestDetailResponse(test, questions, List.of());
+            return buildTestDetailResponse(test, List.of());
         }
 
-        List<UUID> questionIds = questions.stream().map(Question::getId).toList();
-        List<Answer> allAnswers = answerRepository.findByQuestionIdInOrderByQuestionIdAndOrderIndex(questionIds);
+        return buildTestDetailResponse(test, toQuestionResponses(questions, loadAnswers(questions)));
+    }
 
-        Map<UUID, List<Answer>> answersByQuestionId = allAnswers.stream()
+    private Map<UUID, List<Answer>> loadAnswers(List<Question> questions) {
+        if (questions.isEmpty()) {
+            return Map.of();
+        }
+
+        List<UUID> questionIds = questions.stream().map(Question::getId).toList();
+        return answerRepository.findByQuestionIdInOrderByQuestionIdAndOrderIndex(questionIds).stream()
             .collect(Collectors.groupingBy(Answer::getQuestionId));
+    }
 
-        List<QuestionResponse> questionResponses = questions.stream()
-            .map(question -> {
-                List<Answer> answers = answersByQuestionId.getOrDefault(question.getId(), List.of());
-                List<AnswerResponse> answerResponses = answers.stream()
+    private List<QuestionResponse> toQuestionResponses(List<Question> questions, Map<UUID, List<Answer>> answersByQuestionId) {
+        return questions.stream()
+            .map(question -> new QuestionResponse(
+                question.getId(),
+                question.getQuestionType(),
+                question.getQuestionText(),
+                question.getScore(),
+                question.getOrderIndex(),
+                question.getCorrectAnswer(),
+                answersByQuestionId.getOrDefault(question.getId(), List.of()).stream()
                     .map(a -> new AnswerResponse(a.getId(), a.getAnswerText(), a.getIsCorrect(), a.getOrderIndex()))
-                    .toList();
-
-                return new QuestionResponse(
-                    question.getId(),
-                    question.getQuestionType(),
-                    question.getQuestionText(),
-                    question.getScore(),
-                    question.getOrderIndex(),
-                    question.getCorrectAnswer(),
-                    answerResponses
-                );
-            })
+                    .toList()
+            ))
             .toList();
-
-        return buildTestDetailResponse(test, questions, questionResponses);
     }
 
-    private TestDetailResponse buildTestDetailResponse(Test test, List<Question> questions, List<QuestionResponse> questionResponses) {
-        List<QuestionTypeCount> questionTypeCounts = calculateQuestionTypeCounts(questions);
+    private TestDetailResponse buildTestDetailResponse(Test test, List<QuestionResponse> questionResponses) {
+        List<QuestionTypeCount> questionTypeCounts = questionTypeCounts(test);
 
         return new TestDetailResponse(
             test.getId(),
@@ -321,6 +292,7 @@ public class TestServiceImpl implements TestService {
             test.getTotalPossibleScore(),
             calculateEstimatedTime(test.getQuestionCount()),
             test.getPublishedAt(),
+            test.getHasUnpublishedChanges(),
             questionResponses,
             questionTypeCounts,
             test.getCreatedAt(),
@@ -328,6 +300,45 @@ public class TestServiceImpl implements TestService {
         );
     }
 
+    /**
+     * Builds the student view of a test from its published version rather than its live rows.
+     */
+    private TestDetailResponse buildPublishedDetail(Test test, TestSnapshot snapshot) {
+        int questionCount = snapshot.questions().size();
+
+        return new TestDetailResponse(
+            test.getId(),
+            snapshot.title(),
+            snapshot.description(),
+            snapshot.isPremium(),
+            test.getStatus(),
+            questionCount,
+            snapshot.totalPossibleScore(),
+            calculateEstimatedTime(questionCount),
+            test.getPublishedAt(),
+            false,
+            snapshot.questions(),
+            questionTypeCounts(snapshot.questions()),
+            test.getCreatedAt(),
+            test.getUpdatedAt()
+        );
+    }
+
+    private TestDetailResponse getPublishedTest(UUID testId) {
+        Test test = testRepository.findById(testId)
+            .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
+
+        if (!PUBLISHED.equals(test.getStatus())) {
+            throw new IllegalStateException(TEST_NOT_PUBLISHED);
+        }
+
+        // Tests published outside the service have no frozen version; their live rows are what was published
+        if (test.getPublishedVersionId() == null) {
+            return getTest(testId);
+        }
+        return buildPublishedDetail(test, testVersionStore.read(test.getPublishedVersionId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<TestResponse> listTests(String status, Boolean isPremium, Pageable pageable) {
@@ -343,25 +354,65 @@ public class TestServiceImpl implements TestService {
             tests = testRepository.findAll(pageable);
         }
 
-        return tests.map(test -> {
-            List<Question> questions = questionRepository.findByTestIdOrderByOrderIndex(test.getId());
-            List<QuestionTypeCount> questionTypeCounts = calculateQuestionTypeCounts(questions);
+        return tests.map(this::toTestResponse);
+    }
 
-            return new TestResponse(
-                test.getId(),
-                test.getTitle(),
-                test.getDescription(),
-                test.getIsPremium(),
-                test.getStatus(),
-                test.getQuestionCount(),
-                test.getTotalPossibleScore(),
-                calculateEstimatedTime(test.getQuestionCount()),
-                questionTypeCounts,
-                test.getPublishedAt(),
-                test.getCreatedAt(),
-                test.getUpdatedAt()
-            );
-        });
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TestResponse> scrollTests(String status, Boolean isPremium, CursorPageRequest request) {
+        Specification<Test> spec = (root, query, cb) -> cb.conjunction();
+        if (status != null) {
+            String statusUpper = status.toUpperCase();
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), statusUpper));
+        }
+        if (isPremium != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("isPremium"), isPremium));
+        }
+
+        Window<Test> window = testRepository.findBy(spec, query -> query
+            .sortBy(KeysetCursor.sort(request))
+            .limit(request.size())
+            .scroll(KeysetCursor.position(request, Test.class)));
+        Long total = request.includeTotal() ? testRepository.count(spec) : null;
+
+        return KeysetCursor.page(window, request, window.map(this::toTestResponse).getContent(), total);
+    }
+
+    private TestResponse toTestResponse(Test test) {
+        // Type counts are stored on the test row, so listing never touches questions
+        return new TestResponse(
+            test.getId(),
+            test.getTitle(),
+            test.getDescription(),
+            test.getIsPremium(),
+            test.getStatus(),
+            test.getQuestionCount(),
+            test.getTotalPossibleScore(),
+            calculateEstimatedTime(test.getQuestionCount()),
+            questionTypeCounts(test),
+            test.getPublishedAt(),
+            test.getCreatedAt(),
+            test.getUpdatedAt()
+        );
+    }
+
+    private TestResponse toPublishedTestResponse(Test test, TestSnapshot snapshot) {
+        int questionCount = snapshot.questions().size();
+
+        return new TestResponse(
+            test.getId(),
+            snapshot.title(),
+            snapshot.description(),
+            snapshot.isPremium(),
+            test.getStatus(),
+            questionCount,
+            snapshot.totalPossibleScore(),
+            calculateEstimatedTime(questionCount),
+            questionTypeCounts(snapshot.questions()),
+            test.getPublishedAt(),
+            test.getCreatedAt(),
+            test.getUpdatedAt()
+        );
     }
 
     @Override
@@ -373,123 +424,147 @@ public class TestServiceImpl implements TestService {
 
         int questionCount = questions.size();
         int totalScore = questions.stream().mapToInt(Question::getScore).sum();
+        Map<String, Long> typeCounts = questions.stream()
+            .collect(Collectors.groupingBy(Question::getQuestionType, Collectors.counting()));
 
         test.setQuestionCount(questionCount);
         test.setTotalPossibleScore(totalScore);
+        test.setClosedSingleCount(typeCounts.getOrDefault(CLOSED_SINGLE, 0L).intValue());
+        test.setClosedMultipleCount(typeCounts.getOrDefault(CLOSED_MULTIPLE, 0L).intValue());
+        test.setOpenTextCount(typeCounts.getOrDefault(OPEN_TEXT, 0L).intValue());
         testRepository.save(test);
     }
 
-    private void createQuestion(UUID testId, CreateQuestionRequest request, int orderIndex) {
-        validateQuestionRequest(request);
+    private QuestionDiff diffQuestions(Test test, List<CreateQuestionRequest> requests) {
+        List<Question> stored = questionRepository.findByTestIdOrderByOrderIndex(test.getId());
+        return QuestionDiff.compute(test.getId(), stored, loadAnswers(stored), requests);
+    }
 
-        Question question = Question.builder()
-            .testId(testId)
-            .questionType(request.questionType())
-            .questionText(request.questionText())
-            .score(request.score())
-            .orderIndex(request.orderIndex() != null ? request.orderIndex() : orderIndex)
-            .correctAnswer(request.correctAnswer() != null ? normalizeText(request.correctAnswer()) : null)
-            .build();
+    /**
+     * Writes a question diff in batches and sets the test's aggregates from its final state,
+     * so nothing has to be read back.
+     *
+     * @return the resulting questions in response form, ordered like {@link #getTest(UUID)}
+     */
+    private List<QuestionResponse> writeQuestions(Test test, QuestionDiff diff) {
+        questionBulkWriter.apply(diff);
+
+        applyAggregates(test, diff.questions());
+        return toQuestionResponses(diff.questions(), diff.answersByQuestionId());
+    }
 
-        questionRepository.save(question);
-
-        if ((CLOSED_SINGLE.equals(request.questionType()) ||
-            CLOSED_MULTIPLE.equals(request.questionType())) && request.answers() != null) {
-            for (int i = 0; i < request.answers().size(); i++) {
-                CreateAnswerRequest aReq = request.answers().get(i);
-                Answer answer = Answer.builder()
-                    .questionId(question.getId())
-                    .answerText(aReq.answerText())
-                    .isCorrect(aReq.isCorrect())
-                    .orderIndex(aReq.orderIndex() != null ? aReq.orderIndex() : i)
-                    .build();
-                answerRepository.save(answer);
-            }
-        }
+    private void applyAggregates(Test test, List<Question> questions) {
+        Map<String, Long> typeCounts = questions.stream()
+            .collect(Collectors.groupingBy(Question::getQuestionType, Collectors.counting()));
+        test.setQuestionCount(questions.size());
+        test.setTotalPossibleScore(questions.stream().mapToInt(Question::getScore).sum());
+        test.setClosedSingleCount(typeCounts.getOrDefault(CLOSED_SINGLE, 0L).intValue());
+        test.setClosedMultipleCount(typeCounts.getOrDefault(CLOSED_MULTIPLE, 0L).intValue());
+        test.setOpenTextCount(typeCounts.getOrDefault(OPEN_TEXT, 0L).intValue());
     }
 
-    private void validateQuestionRequest(CreateQuestionRequest request) {
-        String questionType = request.questionType();
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TestResponse> listPublishedTestsForUser(Pageable pageable) {
+        Page<Test> tests = testRepository.findByStatus(PUBLISHED, pageable);
 
-        switch (questionType) {
-            case CLOSED_SINGLE -> validateClosedSingleRequest(request);
-            case CLOSED_MULTIPLE -> validateClosedMultipleRequest(request);
-            case OPEN_TEXT -> validateOpenTextRequest(request);
-            default -> {
-                // No validation needed for other types
-            }
-        }
+        // Listed from the published versions so unpublished edits stay invisible to students
+        Map<UUID, TestSnapshot> snapshots = readPublishedSnapshots(tests.getContent());
+        return tests.map(test -> toListedTestResponse(test, snapshots));
     }
 
-    private void validateClosedSingleRequest(CreateQuestionRequest request) {
-        if (request.answers() == null || request.answers().isEmpty()) {
-            throw new IllegalArgumentException(CLOSED_SINGLE_MUST_HAVE_ANSWER);
-        }
-        long correctCount = request.answers().stream().filter(CreateAnswerRequest::isCorrect).count();
-        if (correctCount != 1) {
-            throw new IllegalArgumentException(CLOSED_SINGLE_ONE_CORRECT);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TestResponse> searchPublishedTests(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException(SEARCH_QUERY_REQUIRED);
         }
-    }
 
-    private void validateClosedMultipleRequest(CreateQuestionRequest request) {
-        if (request.answers() == null || request.answers().isEmpty()) {
-            throw new IllegalArgumentException(CLOSED_MULTIPLE_MUST_HAVE_ANSWER);
-        }
-        long correctCount = request.answers().stream().filter(CreateAnswerRequest::isCorrect).count();
-        if (correctCount < 1) {
-            throw new IllegalArgumentException(CLOSED_MULTIPLE_AT_LEAST_ONE);
-        }
+        CursorPageResponse<UUID> ids = textSearch.searchPublishedTests(query, cursor, size);
+        Map<UUID, Test> testsById = testRepository.findAllById(ids.content()).stream()
+            .collect(Collectors.toMap(Test::getId, test -> test));
+        Map<UUID, TestSnapshot> snapshots = readPublishedSnapshots(testsById.values());
+
+        // Kept in rank order; a test deleted since the search ran is skipped
+        List<TestResponse> content = ids.content().stream()
+            .map(testsById::get)
+            .filter(Objects::nonNull)
+            .map(test -> toListedTestResponse(test, snapshots))
+            .toList();
+        return new CursorPageResponse<>(content, ids.nextCursor(), ids.hasNext(), null);
     }
 
-    private void validateOpenTextRequest(CreateQuestionRequest request) {
-        if (request.correctAnswer() == null || request.correctAnswer().isBlank()) {
-            throw new IllegalArgumentException(OPEN_TEXT_REQUIRES_ANSWER);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<QuestionSearchResponse> searchQuestions(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException(SEARCH_QUERY_REQUIRED);
         }
+        return textSearch.searchQuestions(query, cursor, size);
     }
 
-    private void validateQuestion(Question question) {
-        if (CLOSED_SINGLE.equals(question.getQuestionType())) {
-            List<Answer> answers = answerRepository.findByQuestionIdAndIsCorrect(question.getId(), true);
-            if (answers.size() != 1) {
-                throw new IllegalArgumentException(CLOSED_SINGLE_ONE_CORRECT);
-            }
-        } else if (CLOSED_MULTIPLE.equals(question.getQuestionType())) {
-            List<Answer> answers = answerRepository.findByQuestionIdAndIsCorrect(question.getId(), true);
-            if (answers.isEmpty()) {
-                throw new IllegalArgumentException(CLOSED_MULTIPLE_AT_LEAST_ONE);
-            }
-        } else if (OPEN_TEXT.equals(question.getQuestionType()) && (question.getCorrectAnswer() == null || question.getCorrectAnswer().isBlank())) {
-            throw new IllegalArgumentException(OPEN_TEXT_REQUIRES_ANSWER);
-        }
+    private Map<UUID, TestSnapshot> readPublishedSnapshots(Collection<Test> tests) {
+        return testVersionStore.readAll(tests.stream()
+            .map(Test::getPublishedVersionId)
+            .filter(Objects::nonNull)
+            .toList());
+    }
 
+    private TestResponse toListedTestResponse(Test test, Map<UUID, TestSnapshot> snapshots) {
+        TestSnapshot snapshot = test.getPublishedVersionId() != null
+            ? snapshots.get(test.getPublishedVersionId())
+            : null;
+        return snapshot != null ? toPublishedTestResponse(test, snapshot) : toTestResponse(test);
     }
 
     @Override
-    public Page<TestResponse> listPublishedTestsForUser(Pageable pageable) {
-        return listTests(PUBLISHED, null, pageable);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public JsonSnapshot listPublishedTestsJson(Pageable pageable) {
+        // Runs without a transaction so that a catalog hit never borrows a connection
+        JsonSnapshot cached = publishedCatalog.getPage(pageable);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = publishedCatalog.version();
+        Page<TestResponse> page = transactionTemplate.execute(status -> listPublishedTestsForUser(pageable));
+        return publishedCatalog.putPage(pageable, page, version);
     }
 
     @Override
     public TestDetailResponse getTestForUser(UUID testId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByEmail(auth.getName())
-            .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
+        TestDetailResponse test = getPublishedTest(testId);
 
-        Role role = roleRepository.findById(user.getRoleId())
-            .orElseThrow(() -> new NoSuchElementException(ROLE_NOT_FOUND));
+        if (Boolean.TRUE.equals(test.isPremium())) {
+            checkPremiumAccess();
+        }
 
-        TestDetailResponse test = getTest(testId);
+        return test;
+    }
 
-        if (Boolean.TRUE.equals(test.isPremium()) && !Boolean.TRUE.equals(user.getIsPremium()) && !"ADMIN".equals(role.getTitle())) {
-            throw new IllegalStateException(CANNOT_START_PREMIUM_TEST);
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public JsonSnapshot getTestForUserJson(UUID testId) {
+        PublishedCatalog.Entry entry = publishedCatalog.getTest(testId);
+        if (entry == null) {
+            long version = publishedCatalog.version();
+            TestDetailResponse test = transactionTemplate.execute(status -> getPublishedTest(testId));
+            entry = publishedCatalog.putTest(test, version);
         }
 
-        return test;
+        // Only premium tests check the caller, whose entitlement comes from the access token
+        if (entry.premium()) {
+            checkPremiumAccess();
+        }
+
+        return entry.json();
     }
 
-    private String normalizeText(String text) {
-        if (text == null) return null;
-        return text.toLowerCase().trim();
+    private void checkPremiumAccess() {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (!user.premium() && !user.isAdmin()) {
+            throw new IllegalStateException(CANNOT_START_PREMIUM_TEST);
+        }
     }
 
     private Integer calculateEstimatedTime(Integer questionCount) {
@@ -503,17 +578,29 @@ public class TestServiceImpl implements TestService {
         return baseTime + overhead;
     }
 
-    private List<QuestionTypeCount> calculateQuestionTypeCounts(List<Question> questions) {
-        if (questions == null || questions.isEmpty()) {
-            return List.of();
-        }
+    private List<QuestionTypeCount> questionTypeCounts(Test test) {
+        List<QuestionTypeCount> counts = new ArrayList<>(3);
+        addTypeCount(counts, CLOSED_SINGLE, test.getClosedSingleCount());
+        addTypeCount(counts, CLOSED_MULTIPLE, test.getClosedMultipleCount());
+        addTypeCount(counts, OPEN_TEXT, test.getOpenTextCount());
+        return counts;
+    }
 
+    private List<QuestionTypeCount> questionTypeCounts(List<QuestionResponse> questions) {
         Map<String, Long> typeCounts = questions.stream()
-            .collect(Collectors.groupingBy(Question::getQuestionType, Collectors.counting()));
+            .collect(Collectors.groupingBy(QuestionResponse::questionType, Collectors.counting()));
 
-        return typeCounts.entrySet().stream()
-            .map(entry -> new QuestionTypeCount(entry.getKey(), entry.getValue().intValue()))
-            .toList();
+        List<QuestionTypeCount> counts = new ArrayList<>(3);
+        addTypeCount(counts, CLOSED_SINGLE, typeCounts.getOrDefault(CLOSED_SINGLE, 0L).intValue());
+        addTypeCount(counts, CLOSED_MULTIPLE, typeCounts.getOrDefault(CLOSED_MULTIPLE, 0L).intValue());
+        addTypeCount(counts, OPEN_TEXT, typeCounts.getOrDefault(OPEN_TEXT, 0L).intValue());
+        return counts;
+    }
+
+    private void addTypeCount(List<QuestionTypeCount> counts, String questionType, Integer count) {
+        if (count != null && count > 0) {
+            counts.add(new QuestionTypeCount(questionType, count));
+        }
     }
 
     private void validateQuestionOrderIndices(List<CreateQuestionRequest> questions) {
@@ -0,0 +1,385 @@
+package com.qanunqapisi.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qanunqapisi.config.jwt.AuthenticatedUser;
+import com.qanunqapisi.domain.Test;
+import com.qanunqapisi.dto.request.test.CreateAnswerRequest;
+import com.qanunqapisi.dto.request.test.CreateQuestionRequest;
+import com.qanunqapisi.dto.request.test.CreateTestRequest;
+import com.qanunqapisi.dto.response.admin.TestImportResponse;
+import com.qanunqapisi.exception.TestValidationException;
+import com.qanunqapisi.repository.TestRepository;
+import com.qanunqapisi.service.TestTransferService;
+import com.qanunqapisi.service.authoring.QuestionBulkWriter;
+import com.qanunqapisi.service.authoring.QuestionDiff;
+import com.qanunqapisi.service.authoring.QuestionRequestValidator;
+import static com.qanunqapisi.util.ErrorMessages.ANSWER_ORDER_DUPLICATE;
+import static com.qanunqapisi.util.ErrorMessages.IMPORT_EMPTY;
+import static com.qanunqapisi.util.ErrorMessages.IMPORT_FAILED;
+import static com.qanunqapisi.util.ErrorMessages.IMPORT_INVALID_LINE;
+import static com.qanunqapisi.util.ErrorMessages.IMPORT_QUESTION_BEFORE_TEST;
+import static com.qanunqapisi.util.ErrorMessages.QUESTION_ORDER_DUPLICATE;
+import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_FOUND;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TestTransferServiceImpl implements TestTransferService {
+    private static final int FETCH_SIZE = 1000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_ERRORS = 100;
+
+    private static final String TYPE = "type";
+    private static final String TEST_LINE = "test";
+    private static final String QUESTION_LINE = "question";
+
+    private static final String CLOSED_SINGLE = "CLOSED_SINGLE";
+    private static final String CLOSED_MULTIPLE = "CLOSED_MULTIPLE";
+    private static final String OPEN_TEXT = "OPEN_TEXT";
+
+    private static final String QUESTIONS_SQL =
+        "SELECT q.id AS question_id, q.question_type, q.question_text, q.score, q.order_index, q.correct_answer, " +
+            "a.id AS answer_id, a.answer_text, a.is_correct, a.order_index AS answer_order " +
+            "FROM questions q LEFT JOIN answers a ON a.question_id = q.id " +
+            "WHERE q.test_id = ? ORDER BY q.order_index, a.order_index";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final TestRepository testRepository;
+    private final QuestionBulkWriter questionBulkWriter;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Override
+    public StreamingResponseBody exportTest(UUID testId) {
+        Test test = testRepository.findById(testId)
+            .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
+
+        return out -> {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+            // Lines are ended with '\n'; the default root separator would prefix each later line with a space
+            json.setRootValueSeparator(null);
+            json.writeStartObject();
+            json.writeStringField(TYPE, TEST_LINE);
+            json.writeStringField("title", test.getTitle());
+            json.writeStringField("description", test.getDescription());
+            json.writeBooleanField("isPremium", Boolean.TRUE.equals(test.getIsPremium()));
+            json.writeEndObject();
+            json.writeRaw('\n');
+
+            QuestionLineWriter writer = new QuestionLineWriter(json);
+            try {
+                streamQuestions(testId, writer);
+                writer.finish();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void streamQuestions(UUID testId, QuestionLineWriter writer) {
+        // PostgreSQL only honours the fetch size (server-side cursor) inside a transaction
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    QUESTIONS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setObject(1, testId);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        ));
+        log.debug("Exported test {}", testId);
+    }
+
+    @Override
+    @Transactional
+    public TestImportResponse importTests(InputStream input) {
+        UUID userId = AuthenticatedUser.current().id();
+
+        Import state = new Import(userId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null && state.errors.size() < MAX_ERRORS) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    readLine(state, lineNumber, line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (state.errors.isEmpty() && state.testIds.isEmpty()) {
+            state.errors.put("input", IMPORT_EMPTY);
+        }
+        if (!state.errors.isEmpty()) {
+            // Thrown out of the transaction, so every batch already written is rolled back
+            throw new TestValidationException(IMPORT_FAILED, state.errors);
+        }
+
+        state.finishTest();
+        log.info("Imported {} tests with {} questions", state.testIds.size(), state.questionsImported);
+        return new TestImportResponse(state.testIds, state.questionsImported, state.answersImported);
+    }
+
+    private void readLine(Import state, int lineNumber, String line) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(line)) {
+            // The type comes first so the rest of the line binds straight to the request it describes
+            if (parser.nextToken() != JsonToken.START_OBJECT || parser.nextToken() != JsonToken.FIELD_NAME ||
+                !TYPE.equals(parser.currentName())) {
+                state.error(lineNumber, IMPORT_INVALID_LINE);
+                return;
+            }
+            String type = parser.nextTextValue();
+            parser.nextToken();
+
+            if (TEST_LINE.equals(type)) {
+                CreateTestRequest request = objectMapper.readValue(parser, CreateTestRequest.class);
+                if (violated(state, lineNumber, request)) {
+                    return;
+                }
+                state.startTest(request);
+            } else if (QUESTION_LINE.equals(type)) {
+                CreateQuestionRequest request = objectMapper.readValue(parser, CreateQuestionRequest.class);
+                if (!state.hasTest()) {
+                    state.error(lineNumber, IMPORT_QUESTION_BEFORE_TEST);
+                } else if (!violated(state, lineNumber, request)) {
+                    state.addQuestion(lineNumber, request);
+                }
+            } else {
+                state.error(lineNumber, IMPORT_INVALID_LINE);
+            }
+        } catch (JsonProcessingException e) {
+            state.error(lineNumber, e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            state.error(lineNumber, e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean violated(Import state, int lineNumber, Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return false;
+        }
+        ConstraintViolation<Object> violation = violations.iterator().next();
+        state.error(lineNumber, violation.getPropertyPath() + ": " + violation.getMessage());
+        return true;
+    }
+
+    /**
+     * Import progress. Questions are written in batches as they accumulate; once a line fails,
+     * nothing more is written and the remaining lines are only checked.
+     */
+    private final class Import {
+        private final UUID userId;
+        private final Map<String, String> errors = new LinkedHashMap<>();
+        private final List<UUID> testIds = new ArrayList<>();
+        private final List<CreateQuestionRequest> pending = new ArrayList<>();
+        private final Set<Integer> orderIndices = new HashSet<>();
+        private Test test;
+        private int questionsImported;
+        private int answersImported;
+
+        Import(UUID userId) {
+            this.userId = userId;
+        }
+
+        boolean hasTest() {
+            return test != null;
+        }
+
+        void error(int lineNumber, String message) {
+            errors.put("line " + lineNumber, message);
+        }
+
+        void startTest(CreateTestRequest request) {
+            finishTest();
+            test = Test.builder()
+                .createdBy(userId)
+                .title(request.title())
+                .description(request.description())
+                .isPremium(request.isPremium())
+                .status("DRAFT")
+                .questionCount(0)
+                .totalPossibleScore(0)
+                .closedSingleCount(0)
+                .closedMultipleCount(0)
+                .openTextCount(0)
+                .hasUnpublishedChanges(false)
+                .build();
+            orderIndices.clear();
+            if (errors.isEmpty()) {
+                // Flushed first so the batched question rows can reference it
+                testRepository.saveAndFlush(test);
+                testIds.add(test.getId());
+            }
+        }
+
+        void addQuestion(int lineNumber, CreateQuestionRequest request) {
+            QuestionRequestValidator.validate(request);
+
+            int orderIndex = request.orderIndex() != null ? request.orderIndex() : test.getQuestionCount();
+            if (!orderIndices.add(orderIndex)) {
+                error(lineNumber, QUESTION_ORDER_DUPLICATE);
+                return;
+            }
+
+            List<CreateAnswerRequest> answers = new ArrayList<>();
+            Set<Integer> answerOrders = new HashSet<>();
+            List<CreateAnswerRequest> requested = request.answers() != null ? request.answers() : List.of();
+            for (int i = 0; i < requested.size(); i++) {
+                CreateAnswerRequest answer = requested.get(i);
+                int answerOrder = answer.orderIndex() != null ? answer.orderIndex() : i;
+                if (!answerOrders.add(answerOrder)) {
+                    error(lineNumber, ANSWER_ORDER_DUPLICATE);
+                    return;
+                }
+                // IDs from another environment mean nothing here, so every row is inserted fresh
+                answers.add(new CreateAnswerRequest(answer.answerText(), answer.isCorrect(), answerOrder, null));
+            }
+
+            test.setQuestionCount(test.getQuestionCount() + 1);
+            test.setTotalPossibleScore(test.getTotalPossibleScore() + request.score());
+            switch (request.questionType()) {
+                case CLOSED_SINGLE -> test.setClosedSingleCount(test.getClosedSingleCount() + 1);
+                case CLOSED_MULTIPLE -> test.setClosedMultipleCount(test.getClosedMultipleCount() + 1);
+                case OPEN_TEXT -> test.setOpenTextCount(test.getOpenTextCount() + 1);
+                default -> {
+                    // Rejected by bean validation
+                }
+            }
+
+            pending.add(new CreateQuestionRequest(request.questionType(), request.questionText(), request.score(),
+                orderIndex, request.correctAnswer(), answers, null));
+            if (pending.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void finishTest() {
+            if (test == null) {
+                return;
+            }
+            flush();
+            if (errors.isEmpty()) {
+                testRepository.save(test);
+            }
+            test = null;
+        }
+
+        private void flush() {
+            if (errors.isEmpty() && !pending.isEmpty()) {
+                QuestionDiff diff = QuestionDiff.compute(test.getId(), List.of(), Map.of(), pending);
+                questionBulkWriter.apply(diff);
+                questionsImported += diff.questionInserts().size();
+                answersImported += diff.answerInserts().size();
+            }
+            pending.clear();
+        }
+    }
+
+    /**
+     * Writes one JSON object per question. Answer rows of the same question arrive consecutively,
+     * so only the question currently being written is held open.
+     */
+    private static final class QuestionLineWriter {
+        private final JsonGenerator json;
+        private UUID currentQuestionId;
+
+        QuestionLineWriter(JsonGenerator json) {
+            this.json = json;
+        }
+
+        void write(ResultSet rs) throws SQLException, IOException {
+            UUID questionId = rs.getObject("question_id", UUID.class);
+            if (!questionId.equals(currentQuestionId)) {
+                endQuestion();
+                startQuestion(rs, questionId);
+            }
+            if (rs.getObject("answer_id") != null) {
+                json.writeStartObject();
+                json.writeStringField("answerText", rs.getString("answer_text"));
+                json.writeBooleanField("isCorrect", rs.getBoolean("is_correct"));
+                json.writeNumberField("orderIndex", rs.getInt("answer_order"));
+                json.writeEndObject();
+            }
+        }
+
+        void finish() throws IOException {
+            endQuestion();
+            json.flush();
+        }
+
+        private void startQuestion(ResultSet rs, UUID questionId) throws SQLException, IOException {
+            currentQuestionId = questionId;
+            json.writeStartObject();
+            json.writeStringField(TYPE, QUESTION_LINE);
+            json.writeStringField("questionType", rs.getString("question_type"));
+            json.writeStringField("questionText", rs.getString("question_text"));
+            json.writeNumberField("score", rs.getInt("score"));
+            json.writeNumberField("orderIndex", rs.getInt("order_index"));
+            String correctAnswer = rs.getString("correct_answer");
+            if (correctAnswer != null) {
+                json.writeStringField("correctAnswer", correctAnswer);
+            }
+            json.writeArrayFieldStart("answers");
+        }
+
+        private void endQuestion() throws IOException {
+            if (currentQuestionId == null) {
+                return;
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeRaw('\n');
+            currentQuestionId = null;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.qanunqapisi.service.regrade;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.qanunqapisi.config.regrade.RegradeProperties;
+import com.qanunqapisi.domain.RegradeJob;
+import com.qanunqapisi.repository.RegradeJobRepository;
+import com.qanunqapisi.repository.TestStatisticsRepository;
+import com.qanunqapisi.service.scoring.AnswerKey;
+import com.qanunqapisi.service.scoring.AnswerKeyCache;
+import com.qanunqapisi.service.scoring.AttemptResultCache;
+import com.qanunqapisi.service.scoring.CompiledQuestion;
+import com.qanunqapisi.service.statistics.QuestionStatsAggregator;
+import com.qanunqapisi.service.statistics.ScoreRankIndex;
+import static com.qanunqapisi.util.ErrorMessages.REGRADE_QUESTIONS_CHANGED;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Regrades the completed attempts of a test against the answer key of a test version.
+ * Attempts are walked in (submitted_at, id) order with keyset paging, so attempts completed while the job
+ * runs land after the cursor and are picked up too. Each page is regraded on a virtual thread and
+ * written with batched UPDATEs in its own short transaction, so no table is locked for long.
+ * An instance runs a job only after claiming it; progress renews the claim, and a job whose owner stopped
+ * renewing it is taken over by whichever instance polls next. The cursor advances only past pages that
+ * finished in order; regrading is idempotent, so a taken-over job at worst regrades a few pages twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RegradeRunner {
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final LocalDateTime FIRST_SUBMITTED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String PIN_IN_PROGRESS_SQL =
+        "UPDATE test_attempts SET test_version_id = ?, updated_at = now() " +
+            "WHERE test_id = ? AND status = 'IN_PROGRESS'";
+
+    private static final String NEXT_ATTEMPTS_SQL =
+        "SELECT id, submitted_at, total_score, max_possible_score, test_version_id FROM test_attempts " +
+            "WHERE test_id = ? AND status = 'COMPLETED' AND (submitted_at, id) > (?, ?) " +
+            "ORDER BY submitted_at, id LIMIT ?";
+
+    private static final String LOAD_ANSWERS_SQL =
+        "SELECT id, test_attempt_id, question_id, selected_answer_ids, open_text_answer, is_correct, score_earned " +
+            "FROM user_answers WHERE test_attempt_id = ANY(?)";
+
+    private static final String UPDATE_ANSWER_SQL =
+        "UPDATE user_answers SET is_correct = ?, score_earned = ?, updated_at = now() WHERE id = ?";
+
+    private static final String UPDATE_ATTEMPT_SQL =
+        "UPDATE test_attempts SET total_score = ?, max_possible_score = ?, test_version_id = ?, updated_at = now() " +
+            "WHERE id = ?";
+
+    private static final String CLAIM_JOB_SQL =
+        "UPDATE regrade_jobs SET status = 'RUNNING', owner_id = ?, heartbeat_at = now(), " +
+            "started_at = COALESCE(started_at, now()), updated_at = now() " +
+            "WHERE id = ? AND (status = 'PENDING' OR (status = 'RUNNING' " +
+            "AND (heartbeat_at IS NULL OR heartbeat_at < now() - ? * INTERVAL '1 second')))";
+
+    private static final String SAVE_PROGRESS_SQL =
+        "UPDATE regrade_jobs SET processed_attempts = ?, changed_attempts = ?, last_submitted_at = ?, last_attempt_id = ?, " +
+            "heartbeat_at = now(), updated_at = now() WHERE id = ? AND owner_id = ?";
+
+    private static final String FINISH_JOB_SQL =
+        "UPDATE regrade_jobs SET status = ?, error_message = ?, finished_at = now(), updated_at = now() " +
+            "WHERE id = ? AND owner_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RegradeJobRepository regradeJobRepository;
+    private final TestStatisticsRepository testStatisticsRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final AttemptResultCache attemptResultCache;
+    private final ScoreRankIndex scoreRankIndex;
+    private final QuestionStatsAggregator questionStatsAggregator;
+    private final RegradeProperties properties;
+
+    private final UUID instanceId = UUID.randomUUID();
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Picks up jobs that were never started or whose owner went away; the claim decides which instance runs them.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void resumeUnclaimed() {
+        for (RegradeJob job : regradeJobRepository.findByStatusIn(List.of(PENDING, RUNNING))) {
+            if (!running.contains(job.getId())) {
+                submit(job.getId());
+            }
+        }
+    }
+
+    /**
+     * Starts the job on its own virtual thread unless it is already running in this process.
+     * The thread exits at once if another instance holds the job.
+     */
+    public void submit(UUID jobId) {
+        if (!running.add(jobId)) {
+            return;
+        }
+        Thread.ofVirtual().name("regrade-" + jobId).start(() -> {
+            try {
+                run(jobId);
+            } finally {
+                running.remove(jobId);
+            }
+        });
+    }
+
+    private void run(UUID jobId) {
+        // No row is updated if the job is held by a live owner, finished, or gone with its test
+        if (jdbcTemplate.update(CLAIM_JOB_SQL, instanceId, jobId, properties.getLeaseSeconds()) == 0) {
+            return;
+        }
+        RegradeJob job = regradeJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        log.info("Claimed regrade job {} of test {} after {} attempts", jobId, job.getTestId(), job.getProcessedAttempts());
+
+        try {
+            execute(job);
+            jdbcTemplate.update(FINISH_JOB_SQL, COMPLETED, null, jobId, instanceId);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Regrade job {} of test {} failed", jobId, job.getTestId(), e);
+            jdbcTemplate.update(FINISH_JOB_SQL, FAILED, Objects.toString(e.getMessage(), e.getClass().getName()),
+                jobId, instanceId);
+        }
+    }
+
+    private void execute(RegradeJob job) throws InterruptedException, ExecutionException {
+        UUID testId = job.getTestId();
+        AnswerKey answerKey = answerKeyCache.getVersion(job.getTestVersionId());
+        Map<UUID, CompiledQuestion> questions = answerKey.questions().stream()
+            .collect(Collectors.toMap(CompiledQuestion::id, Function.identity()));
+
+        // Attempts still in progress will be submitted against the corrected key as well
+        jdbcTemplate.update(PIN_IN_PROGRESS_SQL, job.getTestVersionId(), testId);
+
+        LocalDateTime cursorSubmittedAt = job.getLastSubmittedAt() != null ? job.getLastSubmittedAt() : FIRST_SUBMITTED_AT;
+        UUID cursor = job.getLastAttemptId() != null ? job.getLastAttemptId() : FIRST_ID;
+        int processed = job.getProcessedAttempts();
+        int changed = job.getChangedAttempts();
+        Deque<Chunk> inFlight = new ArrayDeque<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (true) {
+                List<AttemptRow> attempts = new ArrayList<>();
+                List<LocalDateTime> submittedAts = new ArrayList<>();
+                jdbcTemplate.query(NEXT_ATTEMPTS_SQL, rs -> {
+                    attempts.add(new AttemptRow(
+                        rs.getObject("id", UUID.class),
+                        rs.getInt("total_score"),
+                        rs.getInt("max_possible_score"),
+                        rs.getObject("test_version_id", UUID.class)
+                    ));
+                    submittedAts.add(rs.getObject("submitted_at", LocalDateTime.class));
+                }, testId, cursorSubmittedAt, cursor, properties.getChunkSize());
+                if (attempts.isEmpty()) {
+                    break;
+                }
+
+                cursorSubmittedAt = submittedAts.get(submittedAts.size() - 1);
+                cursor = attempts.get(attempts.size() - 1).id();
+                inFlight.add(new Chunk(cursorSubmittedAt, cursor, attempts.size(),
+                    executor.submit(() -> regradeChunk(testId, job.getTestVersionId(), answerKey, questions, attempts))));
+
+                if (inFlight.size() >= properties.getParallelism()) {
+                    Chunk chunk = inFlight.poll();
+                    processed += chunk.size();
+                    changed += chunk.changedAttempts().get();
+                    saveProgress(job.getId(), processed, changed, chunk);
+                }
+            }
+
+            while (!inFlight.isEmpty()) {
+                Chunk chunk = inFlight.poll();
+                processed += chunk.size();
+                changed += chunk.changedAttempts().get();
+                saveProgress(job.getId(), processed, changed, chunk);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> testStatisticsRepository.rebuild(testId));
+        scoreRankIndex.rebuild(testId);
+        attemptResultCache.evictTest(testId);
+        log.info("Regrade job {} of test {} finished: {} attempts, {} changed", job.getId(), testId, processed, changed);
+    }
+
+    /**
+     * Regrades one page of attempts in a single transaction and returns how many attempts changed score.
+     * Questions without an answer score zero. An answer to a question missing from the key fails the job
+     * instead of being skipped, which would leave it disagreeing with the attempt's new total.
+     */
+    private int regradeChunk(UUID testId, UUID versionId, AnswerKey answerKey,
+                             Map<UUID, CompiledQuestion> questions, List<AttemptRow> attempts) {
+        Integer changedAttempts = transactionTemplate.execute(status -> {
+            Object[] attemptIds = attempts.stream().map(AttemptRow::id).toArray();
+            List<StoredAnswer> answers = jdbcTemplate.query(LOAD_ANSWERS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", attemptIds)),
+                (rs, rowNum) -> new StoredAnswer(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("test_attempt_id", UUID.class),
+                    rs.getObject("question_id", UUID.class),
+                    uuidList(rs.getArray("selected_answer_ids")),
+                    rs.getString("open_text_answer"),
+                    rs.getBoolean("is_correct"),
+                    rs.getInt("score_earned")
+                ));
+
+            Map<UUID, Integer> totals = new HashMap<>();
+            Map<UUID, Integer> correctDeltas = new HashMap<>();
+            List<StoredAnswer> regradedAnswers = new ArrayList<>();
+            for (StoredAnswer answer : answers) {
+                CompiledQuestion question = questions.get(answer.questionId());
+                if (question == null) {
+                    throw new IllegalStateException(REGRADE_QUESTIONS_CHANGED);
+                }
+
+                int score = question.evaluate(answer.selectedAnswerIds(), answer.openTextAnswer());
+                boolean correct = score == question.score();
+                totals.merge(answer.attemptId(), score, Integer::sum);
+
+                if (score != answer.scoreEarned() || correct != answer.correct()) {
+                    regradedAnswers.add(answer.regraded(score, correct));
+                }
+                if (correct != answer.correct()) {
+                    correctDeltas.merge(answer.questionId(), correct ? 1 : -1, Integer::sum);
+                }
+            }
+
+            int rescored = 0;
+            List<AttemptRow> regradedAttempts = new ArrayList<>();
+            for (AttemptRow attempt : attempts) {
+                AttemptRow regraded = new AttemptRow(
+                    attempt.id(), totals.getOrDefault(attempt.id(), 0), answerKey.totalPossibleScore(), versionId);
+                if (!regraded.equals(attempt)) {
+                    regradedAttempts.add(regraded);
+                }
+                if (regraded.totalScore() != attempt.totalScore()) {
+                    rescored++;
+                }
+            }
+
+            jdbcTemplate.batchUpdate(UPDATE_ANSWER_SQL, regradedAnswers, BATCH_SIZE, (ps, answer) -> {
+                ps.setBoolean(1, answer.correct());
+                ps.setInt(2, answer.scoreEarned());
+                ps.setObject(3, answer.id());
+            });
+            jdbcTemplate.batchUpdate(UPDATE_ATTEMPT_SQL, regradedAttempts, BATCH_SIZE, (ps, attempt) -> {
+                ps.setInt(1, attempt.totalScore());
+                ps.setInt(2, attempt.maxPossibleScore());
+                ps.setObject(3, attempt.testVersionId());
+                ps.setObject(4, attempt.id());
+            });
+
+            questionStatsAggregator.recordRegradeAfterCommit(testId, correctDeltas);
+            return rescored;
+        });
+        return changedAttempts != null ? changedAttempts : 0;
+    }
+
+    /**
+     * Records progress and renews the claim.
+     *
+     * @throws IllegalStateException if another instance has taken the job over, which stops this run
+     */
+    private void saveProgress(UUID jobId, int processed, int changed, Chunk chunk) {
+        int updated = jdbcTemplate.update(SAVE_PROGRESS_SQL, processed, changed,
+            chunk.lastSubmittedAt(), chunk.lastAttemptId(), jobId, instanceId);
+        if (updated == 0) {
+            throw new IllegalStateException("Regrade job " + jobId + " was taken over by another instance");
+        }
+    }
+
+    private static List<UUID> uuidList(Array array) throws SQLException {
+        return array != null ? Arrays.asList((UUID[]) array.getArray()) : null;
+    }
+
+    private record Chunk(LocalDateTime lastSubmittedAt, UUID lastAttemptId, int size, Future<Integer> changedAttempts) {
+    }
+
+    private record AttemptRow(UUID id, int totalScore, int maxPossibleScore, UUID testVersionId) {
+    }
+
+    private record StoredAnswer(
+        UUID id,
+        UUID attemptId,
+        UUID questionId,
+        List<UUID> selectedAnswerIds,
+        String openTextAnswer,
+        boolean correct,
+        int scoreEarned
+    ) {
+        StoredAnswer regraded(int score, boolean isCorrect) {
+            return new StoredAnswer(id, attemptId, questionId, selectedAnswerIds, openTextAnswer, isCorrect, score);
+        }
+    }
+}
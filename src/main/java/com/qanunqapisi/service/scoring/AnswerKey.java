@@ -0,0 +1,69 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.qanunqapisi.domain.Answer;
+import com.qanunqapisi.domain.Question;
+import com.qanunqapisi.domain.Test;
+import com.qanunqapisi.dto.response.test.AnswerResponse;
+
+/**
+ * Compiled, immutable answer key of a test. Questions are kept in order index order.
+ */
+public record AnswerKey(
+    UUID testId,
+    String title,
+    Integer totalPossibleScore,
+    List<CompiledQuestion> questions
+) {
+    public static AnswerKey compile(Test test, List<Question> questions, Map<UUID, List<Answer>> answersByQuestionId,
+                                    QuestionScorerRegistry scorerRegistry) {
+        List<CompiledQuestion> compiled = questions.stream()
+            .map(question -> compileQuestion(
+                question,
+                answersByQuestionId.getOrDefault(question.getId(), List.of()),
+                scorerRegistry.resolve(question.getQuestionType())))
+            .toList();
+
+        return new AnswerKey(test.getId(), test.getTitle(), test.getTotalPossibleScore(), compiled);
+    }
+
+    private static CompiledQuestion compileQuestion(Question question, List<Answer> answers, QuestionScorer scorer) {
+        List<AnswerResponse> answerResponses = answers.stream()
+            .map(a -> new AnswerResponse(a.getId(), a.getAnswerText(), a.getIsCorrect(), a.getOrderIndex()))
+            .toList();
+
+        List<UUID> correctAnswerIds = null;
+        if ("CLOSED_SINGLE".equals(question.getQuestionType()) ||
+            "CLOSED_MULTIPLE".equals(question.getQuestionType())) {
+            correctAnswerIds = answers.stream()
+                .filter(Answer::getIsCorrect)
+                .map(Answer::getId)
+                .toList();
+        }
+
+        long correctMask = 0L;
+        if (answers.size() <= CompiledQuestion.MAX_MASK_ANSWERS) {
+            for (int ordinal = 0; ordinal < answers.size(); ordinal++) {
+                if (Boolean.TRUE.equals(answers.get(ordinal).getIsCorrect())) {
+                    correctMask |= 1L << ordinal;
+                }
+            }
+        }
+
+        return new CompiledQuestion(
+            question.getId(),
+            question.getQuestionType(),
+            question.getQuestionText(),
+            question.getScore(),
+            question.getOrderIndex(),
+            question.getCorrectAnswer(),
+            answerResponses,
+            correctAnswerIds,
+            correctMask,
+            scorer
+        );
+    }
+}
@@ -0,0 +1,119 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.qanunqapisi.domain.Answer;
+import com.qanunqapisi.domain.Question;
+import com.qanunqapisi.domain.Test;
+import com.qanunqapisi.repository.AnswerRepository;
+import com.qanunqapisi.repository.QuestionRepository;
+import com.qanunqapisi.repository.TestRepository;
+import com.qanunqapisi.service.versioning.TestSnapshot;
+import com.qanunqapisi.service.versioning.TestVersionStore;
+import com.qanunqapisi.util.AfterCommit;
+import com.qanunqapisi.util.BoundedCache;
+import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_FOUND;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded cache of compiled answer keys keyed by test ID or test version ID.
+ * Keys are compiled on first use (or on publish) and must be invalidated whenever test content changes.
+ * Version keys never change, so they are only ever dropped by the size bound.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnswerKeyCache {
+    private static final int MAX_ENTRIES = 256;
+
+    private final TestRepository testRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final QuestionScorerRegistry scorerRegistry;
+    private final TestVersionStore testVersionStore;
+
+    private final BoundedCache<UUID, AnswerKey> keys = new BoundedCache<>(MAX_ENTRIES);
+    private final AtomicLong generation = new AtomicLong();
+
+    public AnswerKey get(UUID testId) {
+        AnswerKey cached = keys.get(testId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long observedGeneration = generation.get();
+        AnswerKey compiled = compile(testId);
+        if (generation.get() == observedGeneration) {
+            keys.put(testId, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Returns the key of a frozen test version, used to grade attempts pinned to that version.
+     */
+    public AnswerKey getVersion(UUID versionId) {
+        AnswerKey cached = keys.get(versionId);
+        if (cached != null) {
+            return cached;
+        }
+
+        TestSnapshot snapshot = testVersionStore.read(versionId);
+        AnswerKey compiled = AnswerKey.compile(
+            snapshot.toTest(), snapshot.toQuestions(), snapshot.answersByQuestionId(), scorerRegistry);
+        keys.put(versionId, compiled);
+        return compiled;
+    }
+
+    /**
+     * Compiles a key from just published content and stores it under both the test and the new version
+     * once the surrounding transaction commits.
+     */
+    public AnswerKey store(Test test, UUID versionId, List<Question> questions, Map<UUID, List<Answer>> answersByQuestionId) {
+        AnswerKey answerKey = AnswerKey.compile(test, questions, answersByQuestionId, scorerRegistry);
+        AfterCommit.run(() -> {
+            keys.put(answerKey.testId(), answerKey);
+            keys.put(versionId, answerKey);
+        });
+        return answerKey;
+    }
+
+    /**
+     * Drops the key immediately and again after commit, so a concurrent reader
+     * cannot re-populate it with content the current transaction is replacing.
+     */
+    public void invalidate(UUID testId) {
+        evict(testId);
+        AfterCommit.run(() -> evict(testId));
+    }
+
+    private void evict(UUID testId) {
+        generation.incrementAndGet();
+        keys.remove(testId);
+    }
+
+    private AnswerKey compile(UUID testId) {
+        Test test = testRepository.findById(testId)
+            .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
+
+        List<Question> questions = questionRepository.findByTestIdOrderByOrderIndex(testId);
+        List<UUID> questionIds = questions.stream().map(Question::getId).toList();
+        List<Answer> answers = questionIds.isEmpty() ?
+            List.of() :
+            answerRepository.findByQuestionIdInOrderByQuestionIdAndOrderIndex(questionIds);
+        Map<UUID, List<Answer>> answersByQuestionId = answers.stream()
+            .collect(Collectors.groupingBy(Answer::getQuestionId));
+
+        log.debug("Compiled answer key for test {} with {} questions", testId, questions.size());
+        return AnswerKey.compile(test, questions, answersByQuestionId, scorerRegistry);
+    }
+}
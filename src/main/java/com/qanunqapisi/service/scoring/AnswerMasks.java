@@ -0,0 +1,28 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class AnswerMasks {
+    static final long INVALID_SELECTION = -1L;
+
+    /**
+     * Builds the bitmask of selected answer ordinals. Answers that do not belong to the question make the
+     * whole selection invalid, which never equals a correct mask because eligible questions use at most 63 bits.
+     */
+    static long selectionMask(CompiledQuestion question, List<UUID> selectedAnswerIds) {
+        long mask = 0L;
+        for (int i = 0; i < selectedAnswerIds.size(); i++) {
+            int ordinal = question.ordinalOf(selectedAnswerIds.get(i));
+            if (ordinal < 0) {
+                return INVALID_SELECTION;
+            }
+            mask |= 1L << ordinal;
+        }
+        return mask;
+    }
+}
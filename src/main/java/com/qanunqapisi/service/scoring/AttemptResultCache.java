@@ -0,0 +1,70 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qanunqapisi.dto.response.test.TestResultResponse;
+import com.qanunqapisi.util.AfterCommit;
+import com.qanunqapisi.util.BoundedCache;
+import com.qanunqapisi.util.JsonSnapshot;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bounded cache of serialized results of COMPLETED attempts keyed by attempt ID.
+ * A completed attempt never changes, so entries are only evicted when the underlying test is edited or deleted.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttemptResultCache {
+    private static final int MAX_ENTRIES = 2048;
+
+    private final ObjectMapper objectMapper;
+
+    private final BoundedCache<UUID, Entry> results = new BoundedCache<>(MAX_ENTRIES);
+    private final AtomicLong generation = new AtomicLong();
+
+    public JsonSnapshot get(UUID attemptId) {
+        Entry entry = results.get(attemptId);
+        return entry != null ? entry.snapshot() : null;
+    }
+
+    /**
+     * Returns the generation to pass to {@link #put(TestResultResponse, long)} after loading a result,
+     * so that results read before an eviction are not cached.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public JsonSnapshot put(TestResultResponse result, long observedGeneration) {
+        JsonSnapshot snapshot = JsonSnapshot.of(objectMapper, result);
+        if (generation.get() == observedGeneration) {
+            results.put(result.attemptId(), new Entry(result.testId(), snapshot));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Caches a freshly submitted result once the submission commits.
+     */
+    public void putAfterCommit(TestResultResponse result) {
+        AfterCommit.run(() -> put(result, generation()));
+    }
+
+    public void evictTest(UUID testId) {
+        evict(testId);
+        AfterCommit.run(() -> evict(testId));
+    }
+
+    private void evict(UUID testId) {
+        generation.incrementAndGet();
+        results.removeIf((attemptId, entry) -> entry.testId().equals(testId));
+    }
+
+    private record Entry(UUID testId, JsonSnapshot snapshot) {
+    }
+}
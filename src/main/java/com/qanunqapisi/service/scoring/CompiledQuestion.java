@@ -0,0 +1,49 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.qanunqapisi.dto.response.test.AnswerResponse;
+
+/**
+ * Immutable view of a question and its answers as needed for scoring and result assembly.
+ * {@code correctAnswerIds} is {@code null} for open-text questions.
+ * <p>
+ * Each answer's ordinal is its position in {@code answers}; {@code correctMask} has the bit of every
+ * correct answer set. Questions with more answers than fit in a {@code long} are not bitmask-eligible.
+ * {@code scorer} is resolved from the question type when the key is compiled.
+ */
+public record CompiledQuestion(
+    UUID id,
+    String questionType,
+    String questionText,
+    Integer score,
+    Integer orderIndex,
+    String correctAnswer,
+    List<AnswerResponse> answers,
+    List<UUID> correctAnswerIds,
+    long correctMask,
+    QuestionScorer scorer
+) {
+    public static final int MAX_MASK_ANSWERS = Long.SIZE - 1;
+
+    public int evaluate(List<UUID> selectedAnswerIds, String openTextAnswer) {
+        return scorer.score(this, selectedAnswerIds, openTextAnswer);
+    }
+
+    public boolean isBitmaskEligible() {
+        return answers.size() <= MAX_MASK_ANSWERS;
+    }
+
+    /**
+     * Returns the ordinal of the given answer within this question, or -1 if it does not belong to it.
+     */
+    public int ordinalOf(UUID answerId) {
+        for (int i = 0; i < answers.size(); i++) {
+            if (answers.get(i).id().equals(answerId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.qanunqapisi.config.scoring.ScoringProperties;
+import com.qanunqapisi.config.scoring.ScoringProperties.MultipleChoiceMode;
+import com.qanunqapisi.domain.QuestionType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Scores CLOSED_MULTIPLE questions using the configured {@link MultipleChoiceMode}.
+ * Scores are whole points, so partial credit is rounded to the nearest point with halves rounded up:
+ * on a 1-point question, half or more of the credit earns the point.
+ */
+@Component
+@RequiredArgsConstructor
+public class MultipleChoiceScorer implements QuestionScorer {
+    private final ScoringProperties scoringProperties;
+
+    @Override
+    public QuestionType type() {
+        return QuestionType.CLOSED_MULTIPLE;
+    }
+
+    @Override
+    public int score(CompiledQuestion question, List<UUID> selectedAnswerIds, String openTextAnswer) {
+        if (selectedAnswerIds == null || selectedAnswerIds.isEmpty()) {
+            return 0;
+        }
+
+        int correctPicked;
+        int wrongPicked;
+        int totalCorrect;
+        if (question.isBitmaskEligible()) {
+            long selectionMask = AnswerMasks.selectionMask(question, selectedAnswerIds);
+            if (selectionMask == AnswerMasks.INVALID_SELECTION) {
+                return 0;
+            }
+            long correctMask = question.correctMask();
+            correctPicked = Long.bitCount(selectionMask & correctMask);
+            wrongPicked = Long.bitCount(selectionMask & ~correctMask);
+            totalCorrect = Long.bitCount(correctMask);
+        } else {
+            Set<UUID> correctIds = new HashSet<>(question.correctAnswerIds());
+            Set<UUID> selectedIds = new HashSet<>(selectedAnswerIds);
+            if (selectedIds.stream().anyMatch(id -> question.ordinalOf(id) < 0)) {
+                return 0;
+            }
+            correctPicked = (int) selectedIds.stream().filter(correctIds::contains).count();
+            wrongPicked = selectedIds.size() - correctPicked;
+            totalCorrect = correctIds.size();
+        }
+
+        if (totalCorrect == 0) {
+            return 0;
+        }
+
+        return switch (scoringProperties.getClosedMultipleMode()) {
+            case ALL_OR_NOTHING -> correctPicked == totalCorrect && wrongPicked == 0 ? question.score() : 0;
+            case PROPORTIONAL -> wrongPicked > 0 ? 0 : roundedShare(question.score(), correctPicked, totalCorrect);
+            case PENALTY -> roundedShare(question.score(), Math.max(0, correctPicked - wrongPicked), totalCorrect);
+        };
+    }
+
+    /**
+     * Returns {@code score * numerator / denominator} rounded half up, in integer arithmetic.
+     */
+    static int roundedShare(int score, int numerator, int denominator) {
+        return (2 * score * numerator + denominator) / (2 * denominator);
+    }
+}
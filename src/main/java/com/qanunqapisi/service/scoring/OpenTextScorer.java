@@ -0,0 +1,31 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.qanunqapisi.domain.QuestionType;
+
+@Component
+public class OpenTextScorer implements QuestionScorer {
+    @Override
+    public QuestionType type() {
+        return QuestionType.OPEN_TEXT;
+    }
+
+    @Override
+    public int score(CompiledQuestion question, List<UUID> selectedAnswerIds, String openTextAnswer) {
+        if (openTextAnswer == null) {
+            return 0;
+        }
+        return normalize(openTextAnswer).equals(question.correctAnswer()) ? question.score() : 0;
+    }
+
+    /**
+     * Form in which correct answers are stored and submitted answers are compared.
+     */
+    public static String normalize(String text) {
+        return text.toLowerCase().trim();
+    }
+}
@@ -0,0 +1,29 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.qanunqapisi.domain.QuestionType;
+
+/**
+ * Scores submitted answers for one question type. Implementations are Spring beans picked up by
+ * {@link QuestionScorerRegistry}, so supporting a new type only needs a {@link QuestionType} constant
+ * and a scorer bean.
+ */
+public interface QuestionScorer {
+    /**
+     * @return the question type this scorer handles
+     */
+    QuestionType type();
+
+    /**
+     * Evaluates a submitted answer against the question's answer key.
+     *
+     * @param question          the compiled question
+     * @param selectedAnswerIds the selected answer IDs for closed questions, may be null
+     * @param openTextAnswer    the free-text answer for open questions, may be null
+     * @return the points earned, between 0 and the question score; the answer counts as correct
+     * only when the full score is earned
+     */
+    int score(CompiledQuestion question, List<UUID> selectedAnswerIds, String openTextAnswer);
+}
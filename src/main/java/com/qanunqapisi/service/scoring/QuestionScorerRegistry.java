@@ -0,0 +1,59 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.qanunqapisi.domain.QuestionType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maps each {@link QuestionType} to its scorer. Resolution happens once, when an answer key is compiled,
+ * so scoring a submission never dispatches on the type name.
+ */
+@Component
+@Slf4j
+public class QuestionScorerRegistry {
+    /**
+     * Used for types without a registered scorer; such questions always earn zero points.
+     */
+    static final QuestionScorer UNSUPPORTED = new QuestionScorer() {
+        @Override
+        public QuestionType type() {
+            return null;
+        }
+
+        @Override
+        public int score(CompiledQuestion question, List<UUID> selectedAnswerIds, String openTextAnswer) {
+            return 0;
+        }
+    };
+
+    private final Map<QuestionType, QuestionScorer> scorers = new EnumMap<>(QuestionType.class);
+
+    public QuestionScorerRegistry(List<QuestionScorer> scorers) {
+        for (QuestionScorer scorer : scorers) {
+            QuestionScorer previous = this.scorers.put(scorer.type(), scorer);
+            if (previous != null) {
+                throw new IllegalStateException("Multiple scorers registered for question type " + scorer.type());
+            }
+        }
+        for (QuestionType type : QuestionType.values()) {
+            if (!this.scorers.containsKey(type)) {
+                log.warn("No scorer registered for question type {}", type);
+            }
+        }
+    }
+
+    public QuestionScorer resolve(String questionType) {
+        QuestionType type = QuestionType.fromName(questionType);
+        if (type == null) {
+            return UNSUPPORTED;
+        }
+        return scorers.getOrDefault(type, UNSUPPORTED);
+    }
+}
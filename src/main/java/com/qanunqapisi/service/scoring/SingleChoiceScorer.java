@@ -0,0 +1,33 @@
+package com.qanunqapisi.service.scoring;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.qanunqapisi.domain.QuestionType;
+
+@Component
+public class SingleChoiceScorer implements QuestionScorer {
+    @Override
+    public QuestionType type() {
+        return QuestionType.CLOSED_SINGLE;
+    }
+
+    @Override
+    public int score(CompiledQuestion question, List<UUID> selectedAnswerIds, String openTextAnswer) {
+        if (selectedAnswerIds == null || selectedAnswerIds.size() != 1) {
+            return 0;
+        }
+        return isCorrect(question, selectedAnswerIds) ? question.score() : 0;
+    }
+
+    private boolean isCorrect(CompiledQuestion question, List<UUID> selectedAnswerIds) {
+        if (!question.isBitmaskEligible()) {
+            List<UUID> correctAnswerIds = question.correctAnswerIds();
+            return correctAnswerIds.size() == 1 && correctAnswerIds.get(0).equals(selectedAnswerIds.get(0));
+        }
+        long correctMask = question.correctMask();
+        return Long.bitCount(correctMask) == 1 && AnswerMasks.selectionMask(question, selectedAnswerIds) == correctMask;
+    }
+}
@@ -0,0 +1,116 @@
+package com.qanunqapisi.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import com.qanunqapisi.dto.request.page.CursorPageRequest;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
+import com.qanunqapisi.dto.response.test.QuestionSearchResponse;
+import com.qanunqapisi.util.KeysetCursor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ranked full-text search over the generated {@code search_vector} columns of published test versions and
+ * questions. Tests are matched on the version students see, so unpublished edits never surface a test; a
+ * test published before versions were frozen has no version and is matched on its live title and description.
+ * Questions are found through their GIN index, tests by checking each published test. Matches are ordered by
+ * rank, then ID, and paged by keyset on that pair, so a page never ranks more rows than the query matches.
+ * <p>
+ * Queries use {@code websearch_to_tsquery}, so quoted phrases, {@code or} and {@code -word} work and
+ * any input is valid.
+ */
+@Component
+@RequiredArgsConstructor
+public class TextSearch {
+    private static final String RANK = "rank";
+
+    private static final String PUBLISHED_TESTS_SQL =
+        "SELECT t.id, ts_rank(d.search_vector, q) AS rank FROM tests t " +
+            "LEFT JOIN test_versions v ON v.id = t.published_version_id " +
+            "CROSS JOIN LATERAL (SELECT coalesce(v.search_vector, " +
+            "setweight(to_tsvector('simple', coalesce(t.title, '')), 'A') || " +
+            "setweight(to_tsvector('simple', coalesce(t.description, '')), 'B')) AS search_vector) d " +
+            "CROSS JOIN websearch_to_tsquery('simple', ?) q " +
+            "WHERE t.status = 'PUBLISHED' AND d.search_vector @@ q ";
+
+    private static final String QUESTIONS_SQL =
+        "SELECT qu.id, qu.test_id, t.title AS test_title, qu.question_type, qu.question_text, qu.order_index, " +
+            "ts_rank(qu.search_vector, q) AS rank FROM questions qu " +
+            "JOIN tests t ON t.id = qu.test_id " +
+            "CROSS JOIN websearch_to_tsquery('simple', ?) q " +
+            "WHERE qu.search_vector @@ q ";
+
+    private static final String AFTER_SQL = "AND (ts_rank(%s.search_vector, q), %s.id) < (?, ?) ";
+    private static final String PAGE_SQL = "ORDER BY rank DESC, id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the IDs of published tests whose published title or description match, best first
+     */
+    public CursorPageResponse<UUID> searchPublishedTests(String query, String cursor, int size) {
+        return search(PUBLISHED_TESTS_SQL, "d", "t", query, cursor, size, (rs, rowNum) -> {
+            UUID id = rs.getObject("id", UUID.class);
+            return new Hit<>(id, id, rs.getFloat(RANK));
+        });
+    }
+
+    /**
+     * @return questions of any test whose text matches, best first
+     */
+    public CursorPageResponse<QuestionSearchResponse> searchQuestions(String query, String cursor, int size) {
+        return search(QUESTIONS_SQL, "qu", "qu", query, cursor, size, (rs, rowNum) -> {
+            UUID id = rs.getObject("id", UUID.class);
+            QuestionSearchResponse question = new QuestionSearchResponse(
+                id,
+                rs.getObject("test_id", UUID.class),
+                rs.getString("test_title"),
+                rs.getString("question_type"),
+                rs.getString("question_text"),
+                rs.getInt("order_index")
+            );
+            return new Hit<>(question, id, rs.getFloat(RANK));
+        });
+    }
+
+    private <T> CursorPageResponse<T> search(String sql, String vectorAlias, String idAlias, String query, String cursor,
+                                             int size, RowMapper<Hit<T>> mapper) {
+        CursorPageRequest request = new CursorPageRequest(RANK, Sort.Direction.DESC, size, cursor, false);
+        KeysetCursor.Key after = KeysetCursor.decode(request, Float.class);
+
+        List<Object> args = new ArrayList<>(List.of(query));
+        StringBuilder pageSql = new StringBuilder(sql);
+        if (after != null) {
+            pageSql.append(AFTER_SQL.formatted(vectorAlias, idAlias));
+            args.add(after.value());
+            args.add(after.id());
+        }
+        pageSql.append(PAGE_SQL);
+        // One extra row tells whether another page follows
+        args.add(size + 1);
+
+        List<Hit<T>> hits = jdbcTemplate.query(pageSql.toString(), mapper, args.toArray());
+        boolean hasNext = hits.size() > size;
+        if (hasNext) {
+            hits = hits.subList(0, size);
+        }
+
+        Hit<T> last = hasNext ? hits.get(hits.size() - 1) : null;
+        return new CursorPageResponse<>(
+            hits.stream().map(Hit::value).toList(),
+            last != null ? KeysetCursor.encode(request, last.rank(), last.id()) : null,
+            hasNext,
+            null
+        );
+    }
+
+    private record Hit<T>(T value, UUID id, float rank) {
+    }
+}
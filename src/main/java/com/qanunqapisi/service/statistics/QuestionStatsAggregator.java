@@ -0,0 +1,227 @@
+package com.qanunqapisi.service.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.qanunqapisi.domain.UserAnswer;
+import com.qanunqapisi.util.AfterCommit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Accumulates per-question outcomes and per-answer selections of scored submissions in memory
+ * and periodically adds them to {@code question_stats} and {@code answer_stats} in batches.
+ * Counters not yet flushed are lost only if the process dies without a graceful shutdown.
+ */
+@Component
+@Slf4j
+public class QuestionStatsAggregator {
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_QUESTION_SQL = """
+        INSERT INTO question_stats (question_id, test_id, correct_count, incorrect_count, skipped_count)
+        SELECT ?, ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM questions WHERE id = ?)
+        ON CONFLICT (question_id) DO UPDATE SET
+            correct_count = question_stats.correct_count + EXCLUDED.correct_count,
+            incorrect_count = question_stats.incorrect_count + EXCLUDED.incorrect_count,
+            skipped_count = question_stats.skipped_count + EXCLUDED.skipped_count,
+            updated_at = now()
+        """;
+
+    private static final String UPSERT_ANSWER_SQL = """
+        INSERT INTO answer_stats (answer_id, question_id, selection_count)
+        SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM answers WHERE id = ? AND question_id = ?)
+        ON CONFLICT (answer_id) DO UPDATE SET
+            selection_count = answer_stats.selection_count + EXCLUDED.selection_count,
+            updated_at = now()
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Recording holds the read lock so that flush() can swap the buffer out from under no writer
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Counters pending = new Counters();
+
+    public QuestionStatsAggregator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Records the scored answers of a submission once its transaction commits.
+     */
+    public void recordAfterCommit(UUID testId, List<UserAnswer> answers) {
+        AfterCommit.run(() -> record(testId, answers));
+    }
+
+    void record(UUID testId, List<UserAnswer> answers) {
+        lock.readLock().lock();
+        try {
+            for (UserAnswer answer : answers) {
+                QuestionCounter question = pending.question(answer.getQuestionId(), testId);
+                if (Boolean.TRUE.equals(answer.getIsCorrect())) {
+                    question.correct.increment();
+                } else if (isSkipped(answer)) {
+                    question.skipped.increment();
+                } else {
+                    question.incorrect.increment();
+                }
+
+                if (answer.getSelectedAnswerIds() != null) {
+                    for (UUID answerId : answer.getSelectedAnswerIds()) {
+                        pending.answer(answerId, answer.getQuestionId()).increment();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records answers that moved between correct and incorrect in a regrade, once its transaction commits.
+     * A positive delta moves that many answers of the question from incorrect to correct.
+     */
+    public void recordRegradeAfterCommit(UUID testId, Map<UUID, Integer> correctDeltas) {
+        AfterCommit.run(() -> {
+            lock.readLock().lock();
+            try {
+                correctDeltas.forEach((questionId, delta) -> {
+                    QuestionCounter question = pending.question(questionId, testId);
+                    question.correct.add(delta);
+                    question.incorrect.add(-delta);
+                });
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @Scheduled(
+        fixedDelayString = "${app.analytics.question-stats-flush-interval:30000}",
+        initialDelayString = "${app.analytics.question-stats-flush-interval:30000}"
+    )
+    public void flush() {
+        Counters batch;
+        lock.writeLock().lock();
+        try {
+            batch = pending;
+            pending = new Counters();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            log.debug("Flushed stats of {} questions and {} answers", batch.questions.size(), batch.answers.size());
+        } catch (Exception e) {
+            // The batch is written atomically, so it can be retried on the next flush without double counting
+            log.error("Failed to flush question stats, retrying on next flush", e);
+            lock.readLock().lock();
+            try {
+                pending.merge(batch);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(Counters batch) {
+        List<Map.Entry<UUID, QuestionCounter>> questions = new ArrayList<>(batch.questions.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_QUESTION_SQL, questions, BATCH_SIZE, (ps, entry) -> {
+            QuestionCounter counter = entry.getValue();
+            ps.setObject(1, entry.getKey());
+            ps.setObject(2, counter.testId);
+            ps.setLong(3, counter.correct.sum());
+            ps.setLong(4, counter.incorrect.sum());
+            ps.setLong(5, counter.skipped.sum());
+            ps.setObject(6, entry.getKey());
+        });
+
+        List<Map.Entry<UUID, AnswerCounter>> answers = new ArrayList<>(batch.answers.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_ANSWER_SQL, answers, BATCH_SIZE, (ps, entry) -> {
+            ps.setObject(1, entry.getKey());
+            ps.setObject(2, entry.getValue().questionId);
+            ps.setLong(3, entry.getValue().selections.sum());
+            ps.setObject(4, entry.getKey());
+            ps.setObject(5, entry.getValue().questionId);
+        });
+    }
+
+    private static boolean isSkipped(UserAnswer answer) {
+        boolean noSelection = answer.getSelectedAnswerIds() == null || answer.getSelectedAnswerIds().isEmpty();
+        boolean noText = answer.getOpenTextAnswer() == null || answer.getOpenTextAnswer().isBlank();
+        return noSelection && noText;
+    }
+
+    private static final class Counters {
+        private final Map<UUID, QuestionCounter> questions = new ConcurrentHashMap<>();
+        private final Map<UUID, AnswerCounter> answers = new ConcurrentHashMap<>();
+
+        QuestionCounter question(UUID questionId, UUID testId) {
+            return questions.computeIfAbsent(questionId, id -> new QuestionCounter(testId));
+        }
+
+        LongAdder answer(UUID answerId, UUID questionId) {
+            return answers.computeIfAbsent(answerId, id -> new AnswerCounter(questionId)).selections;
+        }
+
+        boolean isEmpty() {
+            return questions.isEmpty() && answers.isEmpty();
+        }
+
+        void merge(Counters other) {
+            other.questions.forEach((questionId, counter) -> {
+                QuestionCounter target = question(questionId, counter.testId);
+                target.correct.add(counter.correct.sum());
+                target.incorrect.add(counter.incorrect.sum());
+                target.skipped.add(counter.skipped.sum());
+            });
+            other.answers.forEach((answerId, counter) ->
+                answer(answerId, counter.questionId).add(counter.selections.sum()));
+        }
+    }
+
+    private static final class QuestionCounter {
+        private final UUID testId;
+        private final LongAdder correct = new LongAdder();
+        private final LongAdder incorrect = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+
+        QuestionCounter(UUID testId) {
+            this.testId = testId;
+        }
+    }
+
+    private static final class AnswerCounter {
+        private final UUID questionId;
+        private final LongAdder selections = new LongAdder();
+
+        AnswerCounter(UUID questionId) {
+            this.questionId = questionId;
+        }
+    }
+}
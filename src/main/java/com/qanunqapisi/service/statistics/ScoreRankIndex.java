@@ -0,0 +1,109 @@
+package com.qanunqapisi.service.statistics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.qanunqapisi.util.AfterCommit;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exact in-memory histogram of completed attempt scores per test, used to compute a percentile rank
+ * on submission without counting attempts in the database.
+ * Built once at startup from a single GROUP BY and kept current by recording every committed submission,
+ * so a test without a histogram simply has no completed attempts yet.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScoreRankIndex {
+    private static final String LOAD_SQL =
+        "SELECT test_id, total_score, COUNT(*) AS attempts FROM test_attempts " +
+            "WHERE status = 'COMPLETED' GROUP BY test_id, total_score";
+
+    private static final String LOAD_TEST_SQL =
+        "SELECT total_score, COUNT(*) AS attempts FROM test_attempts " +
+            "WHERE test_id = ? AND status = 'COMPLETED' GROUP BY total_score";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<UUID, ScoreHistogram> histograms = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            UUID testId = rs.getObject("test_id", UUID.class);
+            histogram(testId).add(rs.getInt("total_score"), rs.getLong("attempts"));
+        });
+        log.info("Loaded score histograms for {} tests", histograms.size());
+    }
+
+    /**
+     * Returns the percentage of completed attempts of the test that scored strictly lower,
+     * or {@code null} if the test has no completed attempts.
+     */
+    public Double percentileRank(UUID testId, int score) {
+        ScoreHistogram histogram = histograms.get(testId);
+        return histogram != null ? histogram.percentileRank(score) : null;
+    }
+
+    public void recordAfterCommit(UUID testId, int score) {
+        AfterCommit.run(() -> histogram(testId).add(score, 1));
+    }
+
+    /**
+     * Reloads the histogram of one test from the database, used after its scores change in bulk.
+     */
+    public void rebuild(UUID testId) {
+        ScoreHistogram histogram = new ScoreHistogram();
+        jdbcTemplate.query(LOAD_TEST_SQL, rs -> {
+            histogram.add(rs.getInt("total_score"), rs.getLong("attempts"));
+        }, testId);
+        histograms.put(testId, histogram);
+    }
+
+    public void evictTest(UUID testId) {
+        AfterCommit.run(() -> histograms.remove(testId));
+    }
+
+    private ScoreHistogram histogram(UUID testId) {
+        return histograms.computeIfAbsent(testId, id -> new ScoreHistogram());
+    }
+
+    /**
+     * One counter per possible score; scores are bounded by the test's total possible score,
+     * so the array stays small and grows only if a larger score appears.
+     */
+    private static final class ScoreHistogram {
+        private long[] counts = new long[0];
+        private long total;
+
+        synchronized void add(int score, long attempts) {
+            int index = Math.max(0, score);
+            if (index >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+            }
+            counts[index] += attempts;
+            total += attempts;
+        }
+
+        synchronized Double percentileRank(int score) {
+            if (total == 0) {
+                return null;
+            }
+            long lower = 0;
+            int limit = Math.min(Math.max(0, score), counts.length);
+            for (int i = 0; i < limit; i++) {
+                lower += counts[i];
+            }
+            return lower * 100.0 / total;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.qanunqapisi.service.statistics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.qanunqapisi.domain.Test;
+import com.qanunqapisi.domain.TestStatistics;
+import com.qanunqapisi.dto.response.test.ScoreBucketResponse;
+import com.qanunqapisi.dto.response.test.TestStatisticsResponse;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Histogram bucketing shared by submissions and the V14 backfill, and the read-side
+ * derivation of mean, standard deviation and percentiles from a {@link TestStatistics} row.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ScoreStatistics {
+    public static final int BUCKETS = 10;
+    private static final int BUCKET_WIDTH = 100 / BUCKETS;
+    private static final int[] PERCENTILES = {25, 50, 75, 90};
+
+    /**
+     * Returns the 1-based histogram bucket of a score; must match the bucketing in V14__test_statistics.sql.
+     */
+    public static int bucketOf(int score, int maxPossibleScore) {
+        if (maxPossibleScore <= 0) {
+            return 1;
+        }
+        return Math.min(BUCKETS - 1, Math.max(0, score * BUCKETS / maxPossibleScore)) + 1;
+    }
+
+    public static TestStatisticsResponse toResponse(Test test, TestStatistics statistics) {
+        if (statistics == null || statistics.getAttemptCount() == 0) {
+            return new TestStatisticsResponse(
+                test.getId(), test.getTitle(), 0L, 0L, null, null, null, null, Map.of(), distribution(List.of())
+            );
+        }
+
+        long n = statistics.getAttemptCount();
+        double mean = (double) statistics.getScoreSum() / n;
+        double variance = Math.max(0.0, (double) statistics.getScoreSumSquares() / n - mean * mean);
+
+        return new TestStatisticsResponse(
+            test.getId(),
+            test.getTitle(),
+            statistics.getParticipantCount(),
+            n,
+            mean,
+            Math.sqrt(variance),
+            statistics.getMinScore(),
+            statistics.getMaxScore(),
+            percentiles(statistics.getHistogram(), n),
+            distribution(statistics.getHistogram())
+        );
+    }
+
+    private static List<ScoreBucketResponse> distribution(List<Long> histogram) {
+        List<ScoreBucketResponse> buckets = new ArrayList<>(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = i < histogram.size() ? histogram.get(i) : 0L;
+            buckets.add(new ScoreBucketResponse(i * BUCKET_WIDTH, (i + 1) * BUCKET_WIDTH, count));
+        }
+        return buckets;
+    }
+
+    /**
+     * Estimates percentiles by linear interpolation inside the bucket that holds the target rank.
+     */
+    private static Map<String, Double> percentiles(List<Long> histogram, long n) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int percentile : PERCENTILES) {
+            double target = n * percentile / 100.0;
+            long cumulative = 0;
+            double value = 100.0;
+            for (int i = 0; i < histogram.size(); i++) {
+                long count = histogram.get(i);
+                if (count > 0 && cumulative + count >= target) {
+                    value = i * BUCKET_WIDTH + (target - cumulative) / count * BUCKET_WIDTH;
+                    break;
+                }
+                cumulative += count;
+            }
+            result.put("p" + percentile, value);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package com.qanunqapisi.service.versioning;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.qanunqapisi.domain.Answer;
+import com.qanunqapisi.domain.Question;
+import com.qanunqapisi.domain.Test;
+import com.qanunqapisi.dto.response.test.QuestionResponse;
+
+/**
+ * Serialized form of a test's content as stored in a {@code test_versions} row.
+ * The rebuilt entities are detached and only meant for compiling answer keys.
+ */
+public record TestSnapshot(
+    UUID testId,
+    String title,
+    String description,
+    Boolean isPremium,
+    Integer totalPossibleScore,
+    List<QuestionResponse> questions
+) {
+    public static TestSnapshot of(Test test, List<QuestionResponse> questions) {
+        return new TestSnapshot(
+            test.getId(),
+            test.getTitle(),
+            test.getDescription(),
+            test.getIsPremium(),
+            test.getTotalPossibleScore(),
+            questions
+        );
+    }
+
+    public Test toTest() {
+        return Test.builder()
+            .id(testId)
+            .title(title)
+            .description(description)
+            .isPremium(isPremium)
+            .totalPossibleScore(totalPossibleScore)
+            .questionCount(questions.size())
+            .build();
+    }
+
+    public List<Question> toQuestions() {
+        return questions.stream()
+            .map(q -> Question.builder()
+                .id(q.id())
+                .testId(testId)
+                .questionType(q.questionType())
+                .questionText(q.questionText())
+                .score(q.score())
+                .orderIndex(q.orderIndex())
+                .correctAnswer(q.correctAnswer())
+                .build())
+            .toList();
+    }
+
+    public Map<UUID, List<Answer>> answersByQuestionId() {
+        return questions.stream()
+            .collect(Collectors.toMap(QuestionResponse::id, q -> q.answers().stream()
+                .map(a -> Answer.builder()
+                    .id(a.id())
+                    .questionId(q.id())
+                    .answerText(a.answerText())
+                    .isCorrect(a.isCorrect())
+                    .orderIndex(a.orderIndex())
+                    .build())
+                .toList()));
+    }
+}
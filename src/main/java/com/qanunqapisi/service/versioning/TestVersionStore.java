@@ -0,0 +1,104 @@
+package com.qanunqapisi.service.versioning;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qanunqapisi.domain.TestVersion;
+import com.qanunqapisi.repository.TestRepository;
+import com.qanunqapisi.repository.TestVersionRepository;
+import com.qanunqapisi.util.BoundedCache;
+import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_FOUND;
+import static com.qanunqapisi.util.ErrorMessages.TEST_VERSION_NOT_FOUND;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes and reads immutable test versions. Versions are numbered per test starting at 1.
+ * Since a version never changes, read snapshots are cached without any invalidation.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestVersionStore {
+    private static final int MAX_CACHED_SNAPSHOTS = 256;
+
+    private final TestRepository testRepository;
+    private final TestVersionRepository testVersionRepository;
+    private final ObjectMapper objectMapper;
+
+    private final BoundedCache<UUID, TestSnapshot> snapshots = new BoundedCache<>(MAX_CACHED_SNAPSHOTS);
+
+    /**
+     * Freezes the given content as the test's next version. Must run inside the caller's transaction;
+     * the row is flushed so that it can be referenced by bulk updates straight away. The test row stays
+     * locked until that transaction ends, so concurrent freezes of one test take turns numbering.
+     */
+    public TestVersion freeze(TestSnapshot snapshot) {
+        testRepository.lockById(snapshot.testId())
+            .orElseThrow(() -> new NoSuchElementException(TEST_NOT_FOUND));
+        int versionNumber = testVersionRepository.findTopByTestIdOrderByVersionNumberDesc(snapshot.testId())
+            .map(version -> version.getVersionNumber() + 1)
+            .orElse(1);
+
+        try {
+            return testVersionRepository.saveAndFlush(TestVersion.builder()
+                .testId(snapshot.testId())
+                .versionNumber(versionNumber)
+                .snapshot(objectMapper.writeValueAsString(snapshot))
+                .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize test version", e);
+        }
+    }
+
+    public TestSnapshot read(UUID versionId) {
+        TestSnapshot cached = snapshots.get(versionId);
+        if (cached != null) {
+            return cached;
+        }
+
+        TestVersion version = testVersionRepository.findById(versionId)
+            .orElseThrow(() -> new NoSuchElementException(TEST_VERSION_NOT_FOUND));
+        return cache(version);
+    }
+
+    /**
+     * Reads several versions with a single query for the ones not cached yet. Unknown IDs are left out.
+     */
+    public Map<UUID, TestSnapshot> readAll(Collection<UUID> versionIds) {
+        Map<UUID, TestSnapshot> result = new HashMap<>();
+        List<UUID> missing = versionIds.stream()
+            .filter(versionId -> {
+                TestSnapshot cached = snapshots.get(versionId);
+                if (cached != null) {
+                    result.put(versionId, cached);
+                }
+                return cached == null;
+            })
+            .toList();
+
+        if (!missing.isEmpty()) {
+            testVersionRepository.findAllById(missing)
+                .forEach(version -> result.put(version.getId(), cache(version)));
+        }
+        return result;
+    }
+
+    private TestSnapshot cache(TestVersion version) {
+        try {
+            TestSnapshot snapshot = objectMapper.readValue(version.getSnapshot(), TestSnapshot.class);
+            snapshots.put(version.getId(), snapshot);
+            return snapshot;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read test version " + version.getId(), e);
+        }
+    }
+}
@@ -15,6 +15,9 @@ public final class ErrorMessages {
     public static final String ATTEMPT_NOT_FOUND = "Test attempt not found";
     public static final String EMAIL_IN_USE = "Email already in use";
     public static final String INVALID_REQUEST = "Invalid request";
+    public static final String INVALID_SORT_FIELD = "Invalid sort field";
+    public static final String INVALID_CURSOR = "Invalid cursor";
+    public static final String SEARCH_QUERY_REQUIRED = "Search query is required";
     public static final String ACCESS_DENIED = "Access denied";
     public static final String CANNOT_DELETE_SELF = "Cannot delete your own account";
     public static final String LAST_ADMIN_GUARD = "Cannot remove or demote the last admin";
@@ -52,6 +55,15 @@ public final class ErrorMessages {
 
     // Test Management
     public static final String TEST_MUST_HAVE_QUESTIONS = "Test must have at least one question";
+    public static final String TEST_NOT_PUBLISHABLE = "Test cannot be published until its problems are fixed";
+    public static final String TEST_TITLE_REQUIRED = "Test must have a valid title";
+    public static final String TEST_DESCRIPTION_REQUIRED = "Test must have a valid description";
+    public static final String QUESTION_ORDER_DUPLICATE = "Question shares its orderIndex with another question";
+    public static final String ANSWER_ORDER_DUPLICATE = "Answers have duplicate orderIndex values";
+    public static final String IMPORT_FAILED = "Import failed, no tests were imported";
+    public static final String IMPORT_EMPTY = "Import contains no tests";
+    public static final String IMPORT_INVALID_LINE = "Line must be a JSON object whose first field is \"type\": \"test\" or \"question\"";
+    public static final String IMPORT_QUESTION_BEFORE_TEST = "Question line must follow a test line";
     public static final String CLOSED_SINGLE_MUST_HAVE_ANSWER = "Closed-single question must have an answer";
     public static final String CLOSED_SINGLE_ONE_CORRECT = "Closed-single question must have exactly one correct answer";
     public static final String CLOSED_MULTIPLE_MUST_HAVE_ANSWER = "Closed-multiple question must have answers";
@@ -61,6 +73,15 @@ public final class ErrorMessages {
     public static final String TEST_ALREADY_PUBLISHED = "Test is already published";
     public static final String TEST_NOT_PUBLISHED = "Test is not published";
     public static final String CANNOT_START_PREMIUM_TEST = "Premium subscription required to access this test";
+    public static final String QUESTION_NOT_IN_TEST = "Question does not belong to this test";
+    public static final String DUPLICATE_QUESTION_ID = "Question is listed more than once";
+    public static final String ANSWER_NOT_IN_QUESTION = "Answer does not belong to this question";
+    public static final String DUPLICATE_ANSWER_ID = "Answer is listed more than once";
+    public static final String TEST_VERSION_NOT_FOUND = "Test version not found";
+    public static final String REGRADE_ALREADY_RUNNING = "A regrade of this test is already running";
+    public static final String REGRADE_JOB_NOT_FOUND = "Regrade job not found";
+    public static final String REGRADE_QUESTIONS_CHANGED =
+        "Completed attempts were taken on a version with different questions; only answer key corrections can be regraded";
 
     // Test Taking
     public static final String ATTEMPT_ALREADY_COMPLETED = "Test attempt already completed";
@@ -1,6 +1,7 @@
 package com.qanunqapisi.util;
 
 import com.qanunqapisi.dto.response.error.ErrorResponse;
+import com.qanunqapisi.exception.TestValidationException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -119,9 +120,17 @@ public class GlobalExceptionHandler {
                 && message.contains("users")) {
             return buildErrorResponse(HttpStatus.CONFLICT, ErrorMessages.EMAIL_IN_USE);
         }
+        if (message.contains("uq_regrade_jobs_active_test") || message.equals(ErrorMessages.REGRADE_ALREADY_RUNNING)) {
+            return buildErrorResponse(HttpStatus.CONFLICT, ErrorMessages.REGRADE_ALREADY_RUNNING);
+        }
         return buildErrorResponse(HttpStatus.CONFLICT, "Data integrity violation");
     }
 
+    @ExceptionHandler(TestValidationException.class)
+    public ResponseEntity<ErrorResponse> handleTestValidation(TestValidationException ex) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), ex.getViolations());
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ErrorResponse> handleIllegalState(IllegalStateException ex) {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
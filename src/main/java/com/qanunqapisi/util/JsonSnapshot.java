@@ -0,0 +1,31 @@
+package com.qanunqapisi.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Pre-serialized JSON body together with a strong ETag derived from its bytes.
+ */
+public record JsonSnapshot(byte[] body, String etag) {
+    public static JsonSnapshot of(ObjectMapper objectMapper, Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            return new JsonSnapshot(body, etagOf(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    private static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
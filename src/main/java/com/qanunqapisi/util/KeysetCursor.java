@@ -0,0 +1,136 @@
+package com.qanunqapisi.util;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.util.ReflectionUtils;
+
+import com.qanunqapisi.dto.request.page.CursorPageRequest;
+import com.qanunqapisi.dto.response.page.CursorPageResponse;
+import static com.qanunqapisi.util.ErrorMessages.INVALID_CURSOR;
+import static com.qanunqapisi.util.ErrorMessages.INVALID_SORT_FIELD;
+
+/**
+ * Opaque cursors for keyset pagination. A cursor holds the sort and the sort value and ID of the last
+ * row of a page, so the next page seeks straight to the row after it through a {@code (sort key, id)}
+ * index instead of counting past every earlier row with OFFSET.
+ */
+public final class KeysetCursor {
+    private static final String ID = "id";
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * @return the sort with {@code id} as tiebreaker, so every row has a distinct position
+     */
+    public static Sort sort(CursorPageRequest request) {
+        return Sort.by(request.direction(), request.sortBy(), ID);
+    }
+
+    /**
+     * @param entityType the entity being paged, used to restore the type of the cursor's sort value
+     * @return the position after the cursor's row, or the start when the request has no cursor
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort
+     */
+    public static ScrollPosition position(CursorPageRequest request, Class<?> entityType) {
+        Key key = decode(request, propertyType(entityType, request.sortBy()));
+        if (key == null) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(request.sortBy(), key.value());
+        keys.put(ID, key.id());
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Decodes the request's cursor for queries that seek by hand rather than through a {@link Window}.
+     *
+     * @param valueType the type of the sort value
+     * @return the sort value and ID of the previous page's last row, or null when the request has no cursor
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort
+     */
+    public static Key decode(CursorPageRequest request, Class<?> valueType) {
+        if (request.cursor() == null || request.cursor().isBlank()) {
+            return null;
+        }
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(request.cursor()), StandardCharsets.UTF_8)
+                .split("\\" + SEPARATOR, 4);
+            if (parts.length != 4 || !parts[0].equals(request.sortBy()) || !parts[1].equals(request.direction().name())) {
+                throw new IllegalArgumentException(INVALID_CURSOR);
+            }
+            return new Key(parse(parts[3], valueType), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * Builds the response for a scrolled window, its cursor pointing after the window's last row.
+     *
+     * @param content the window's rows in response form, in window order
+     * @param total   the total row count, or null when it was not requested
+     */
+    public static <T> CursorPageResponse<T> page(Window<?> window, CursorPageRequest request, List<T> content, Long total) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Map<String, Object> keys = ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys();
+            nextCursor = encode(request, keys.get(request.sortBy()), (UUID) keys.get(ID));
+        }
+        return new CursorPageResponse<>(content, nextCursor, nextCursor != null, total);
+    }
+
+    /**
+     * @return a cursor pointing after the row with the given sort value and ID
+     */
+    public static String encode(CursorPageRequest request, Object sortValue, UUID id) {
+        String raw = request.sortBy() + SEPARATOR + request.direction().name() + SEPARATOR + id + SEPARATOR + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Class<?> propertyType(Class<?> entityType, String property) {
+        Field field = ReflectionUtils.findField(entityType, property);
+        if (field == null) {
+            throw new IllegalArgumentException(INVALID_SORT_FIELD);
+        }
+        return field.getType();
+    }
+
+    private static Object parse(String value, Class<?> type) {
+        if (type == String.class) {
+            return value;
+        } else if (type == Integer.class) {
+            return Integer.valueOf(value);
+        } else if (type == Long.class) {
+            return Long.valueOf(value);
+        } else if (type == Float.class) {
+            return Float.valueOf(value);
+        } else if (type == Boolean.class) {
+            return Boolean.valueOf(value);
+        } else if (type == UUID.class) {
+            return UUID.fromString(value);
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        throw new IllegalArgumentException(INVALID_SORT_FIELD);
+    }
+
+    public record Key(Object value, UUID id) {
+    }
+}
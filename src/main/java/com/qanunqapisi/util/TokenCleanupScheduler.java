@@ -2,6 +2,7 @@ package com.qanunqapisi.util;
 
 import com.qanunqapisi.repository.RefreshTokenRepository;
 import com.qanunqapisi.repository.RevokedTokenRepository;
+import com.qanunqapisi.service.auth.RevocationIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -16,6 +17,7 @@ import java.time.LocalDateTime;
 public class TokenCleanupScheduler {
     private final RefreshTokenRepository refreshTokenRepository;
     private final RevokedTokenRepository revokedTokenRepository;
+    private final RevocationIndex revocationIndex;
 
     @Scheduled(cron = "0 0 * * * *")
     @Transactional
@@ -35,6 +37,7 @@ public class TokenCleanupScheduler {
         try {
             LocalDateTime now = LocalDateTime.now();
             revokedTokenRepository.deleteByExpiresAtBefore(now);
+            revocationIndex.prune(now);
             log.info("Cleaned up expired revoked tokens");
         } catch (Exception e) {
             log.error("Failed to cleanup expired revoked tokens", e);
@@ -0,0 +1,36 @@
+package com.qanunqapisi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Fixed-width digests under which refresh tokens and revoked access tokens are stored, so raw tokens
+ * are never kept at rest. Matches the {@code substring(sha256(...) FROM 1 FOR 16)} used by the V22 migration.
+ */
+public final class TokenDigests {
+    public static final int LENGTH = 16;
+
+    private TokenDigests() {
+    }
+
+    public static byte[] of(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(hash, LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the digest an access token is revoked under: its {@code jti}, or the whole token for
+     * tokens issued before the claim was added
+     */
+    public static byte[] ofAccessToken(Claims claims, String token) {
+        return of(claims.getId() != null ? claims.getId() : token);
+    }
+}
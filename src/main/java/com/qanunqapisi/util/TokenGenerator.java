@@ -1,15 +1,15 @@
 package com.qanunqapisi.util;
 
+import com.qanunqapisi.config.jwt.JwtCodec;
 import com.qanunqapisi.config.jwt.JwtProperties;
 import com.qanunqapisi.domain.User;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 @Component
@@ -17,22 +17,22 @@ import java.util.UUID;
 public class TokenGenerator {
     private static final SecureRandom RANDOM = new SecureRandom();
     private final JwtProperties jwtProperties;
+    private final JwtCodec jwtCodec;
 
-    public String generateAccessToken(User user) {
-        return Jwts.builder()
+    public String generateAccessToken(User user, String role) {
+        return jwtCodec.builder()
+            .setId(UUID.randomUUID().toString())
             .setSubject(user.getEmail())
-            .setIssuer(jwtProperties.getIssuer())
-            .setAudience(jwtProperties.getAudience())
             .setIssuedAt(Date.from(Instant.now()))
             .setExpiration(Date.from(Instant.now().plusSeconds(jwtProperties.getAccessTokenValiditySeconds())))
             .claim("userId", user.getId().toString())
+            .claim("roles", List.of(role))
             .claim("email", user.getEmail())
             .claim("firstName", user.getFirstName())
             .claim("lastName", user.getLastName())
             .claim("isActive", user.getIsActive())
             .claim("isPremium", user.getIsPremium())
             .claim("isVerified", user.getIsVerified())
-            .signWith(Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes()))
             .compact();
     }
 
@@ -0,0 +1,6 @@
+-- Admin results page: filter by test and status, order by score or submission time
+CREATE INDEX IF NOT EXISTS idx_test_attempts_test_status_score
+    ON test_attempts (test_id, status, total_score);
+
+CREATE INDEX IF NOT EXISTS idx_test_attempts_test_status_submitted
+    ON test_attempts (test_id, status, submitted_at);
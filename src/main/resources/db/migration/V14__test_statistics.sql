@@ -0,0 +1,53 @@
+-- Per-test score statistics, maintained incrementally on every submission
+CREATE TABLE IF NOT EXISTS test_statistics (
+    test_id UUID PRIMARY KEY,
+    attempt_count BIGINT NOT NULL DEFAULT 0,
+    participant_count BIGINT NOT NULL DEFAULT 0,
+    score_sum BIGINT NOT NULL DEFAULT 0,
+    score_sum_squares BIGINT NOT NULL DEFAULT 0,
+    min_score INTEGER NULL,
+    max_score INTEGER NULL,
+    -- Attempt counts per 10% band of the attempt's max possible score; element 10 includes 100%
+    histogram BIGINT[] NOT NULL DEFAULT array_fill(0::BIGINT, ARRAY[10]),
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT fk_test_statistics_test FOREIGN KEY (test_id) REFERENCES tests(id) ON DELETE CASCADE
+);
+
+-- Backfill from attempts completed before this migration
+WITH completed AS (
+    SELECT test_id,
+           user_id,
+           total_score,
+           CASE WHEN max_possible_score > 0
+                THEN LEAST(9, GREATEST(0, total_score * 10 / max_possible_score)) + 1
+                ELSE 1
+           END AS bucket
+    FROM test_attempts
+    WHERE status = 'COMPLETED'
+)
+INSERT INTO test_statistics (
+    test_id, attempt_count, participant_count, score_sum, score_sum_squares, min_score, max_score, histogram
+)
+SELECT test_id,
+       COUNT(*),
+       COUNT(DISTINCT user_id),
+       SUM(total_score),
+       SUM(total_score::BIGINT * total_score),
+       MIN(total_score),
+       MAX(total_score),
+       ARRAY[
+           COUNT(*) FILTER (WHERE bucket = 1),
+           COUNT(*) FILTER (WHERE bucket = 2),
+           COUNT(*) FILTER (WHERE bucket = 3),
+           COUNT(*) FILTER (WHERE bucket = 4),
+           COUNT(*) FILTER (WHERE bucket = 5),
+           COUNT(*) FILTER (WHERE bucket = 6),
+           COUNT(*) FILTER (WHERE bucket = 7),
+           COUNT(*) FILTER (WHERE bucket = 8),
+           COUNT(*) FILTER (WHERE bucket = 9),
+           COUNT(*) FILTER (WHERE bucket = 10)
+       ]
+FROM completed
+GROUP BY test_id
+ON CONFLICT (test_id) DO NOTHING;
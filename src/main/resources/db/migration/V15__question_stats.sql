@@ -0,0 +1,25 @@
+-- Per-question item analytics, flushed in batches from in-memory counters
+CREATE TABLE IF NOT EXISTS question_stats (
+    question_id UUID PRIMARY KEY,
+    test_id UUID NOT NULL,
+    correct_count BIGINT NOT NULL DEFAULT 0,
+    incorrect_count BIGINT NOT NULL DEFAULT 0,
+    skipped_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT fk_question_stats_question FOREIGN KEY (question_id) REFERENCES questions(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_question_stats_test_id ON question_stats (test_id);
+
+-- Distractor analysis: how often each answer option was selected
+CREATE TABLE IF NOT EXISTS answer_stats (
+    answer_id UUID PRIMARY KEY,
+    question_id UUID NOT NULL,
+    selection_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT fk_answer_stats_answer FOREIGN KEY (answer_id) REFERENCES answers(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_answer_stats_question_id ON answer_stats (question_id);
@@ -0,0 +1,18 @@
+-- Per-type question counts kept on the test row so catalog listings need not read questions
+ALTER TABLE tests ADD COLUMN IF NOT EXISTS closed_single_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tests ADD COLUMN IF NOT EXISTS closed_multiple_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tests ADD COLUMN IF NOT EXISTS open_text_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE tests t
+SET closed_single_count = c.closed_single,
+    closed_multiple_count = c.closed_multiple,
+    open_text_count = c.open_text
+FROM (
+    SELECT test_id,
+           COUNT(*) FILTER (WHERE question_type = 'CLOSED_SINGLE') AS closed_single,
+           COUNT(*) FILTER (WHERE question_type = 'CLOSED_MULTIPLE') AS closed_multiple,
+           COUNT(*) FILTER (WHERE question_type = 'OPEN_TEXT') AS open_text
+    FROM questions
+    GROUP BY test_id
+) c
+WHERE c.test_id = t.id;
@@ -0,0 +1,28 @@
+-- Frozen copies of test content that attempts can be pinned to
+CREATE TABLE IF NOT EXISTS test_versions (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    test_id UUID NOT NULL,
+    version_number INTEGER NOT NULL,
+    snapshot JSONB NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT fk_test_versions_test FOREIGN KEY (test_id) REFERENCES tests(id) ON DELETE CASCADE,
+    CONSTRAINT uq_test_versions_test_number UNIQUE (test_id, version_number)
+);
+
+ALTER TABLE test_attempts ADD COLUMN IF NOT EXISTS test_version_id UUID NULL;
+ALTER TABLE test_attempts ADD CONSTRAINT fk_test_attempts_version
+    FOREIGN KEY (test_version_id) REFERENCES test_versions(id) ON DELETE SET NULL;
+CREATE INDEX IF NOT EXISTS idx_test_attempts_version_id ON test_attempts (test_version_id);
+
+-- Pinned attempts keep their answers when a question is edited away
+ALTER TABLE user_answers DROP CONSTRAINT IF EXISTS fk_user_answers_question;
+
+-- Deferred so that an edit can swap order indexes within one transaction
+DROP INDEX IF EXISTS uq_questions_test_order;
+ALTER TABLE questions ADD CONSTRAINT uq_questions_test_order
+    UNIQUE (test_id, order_index) DEFERRABLE INITIALLY DEFERRED;
+
+DROP INDEX IF EXISTS uq_answers_question_order;
+ALTER TABLE answers ADD CONSTRAINT uq_answers_question_order
+    UNIQUE (question_id, order_index) DEFERRABLE INITIALLY DEFERRED;
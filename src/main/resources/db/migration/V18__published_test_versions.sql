@@ -0,0 +1,56 @@
+-- Students see the version a test was last published with; edits stay in the live rows until republished
+ALTER TABLE tests ADD COLUMN IF NOT EXISTS published_version_id UUID NULL;
+ALTER TABLE tests ADD COLUMN IF NOT EXISTS has_unpublished_changes BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE tests ADD CONSTRAINT fk_tests_published_version
+    FOREIGN KEY (published_version_id) REFERENCES test_versions(id) ON DELETE SET NULL;
+
+-- Freeze the current content of tests that are already published
+WITH frozen AS (
+    INSERT INTO test_versions (test_id, version_number, snapshot)
+    SELECT t.id,
+           COALESCE((SELECT MAX(v.version_number) FROM test_versions v WHERE v.test_id = t.id), 0) + 1,
+           jsonb_build_object(
+               'testId', t.id,
+               'title', t.title,
+               'description', t.description,
+               'isPremium', t.is_premium,
+               'totalPossibleScore', t.total_possible_score,
+               'questions', COALESCE((
+                   SELECT jsonb_agg(jsonb_build_object(
+                       'id', q.id,
+                       'questionType', q.question_type,
+                       'questionText', q.question_text,
+                       'score', q.score,
+                       'orderIndex', q.order_index,
+                       'correctAnswer', q.correct_answer,
+                       'answers', COALESCE((
+                           SELECT jsonb_agg(jsonb_build_object(
+                               'id', a.id,
+                               'answerText', a.answer_text,
+                               'isCorrect', a.is_correct,
+                               'orderIndex', a.order_index
+                           ) ORDER BY a.order_index)
+                           FROM answers a
+                           WHERE a.question_id = q.id
+                       ), '[]'::jsonb)
+                   ) ORDER BY q.order_index)
+                   FROM questions q
+                   WHERE q.test_id = t.id
+               ), '[]'::jsonb)
+           )
+    FROM tests t
+    WHERE t.status = 'PUBLISHED'
+    RETURNING id, test_id
+)
+UPDATE tests t
+SET published_version_id = f.id
+FROM frozen f
+WHERE t.id = f.test_id;
+
+-- Attempts not pinned by an earlier edit were taken on the content just frozen
+UPDATE test_attempts a
+SET test_version_id = t.published_version_id
+FROM tests t
+WHERE a.test_id = t.id
+  AND a.test_version_id IS NULL
+  AND t.published_version_id IS NOT NULL;
@@ -0,0 +1,33 @@
+-- Background regrades of completed attempts against a corrected answer key
+CREATE TABLE IF NOT EXISTS regrade_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    test_id UUID NOT NULL,
+    test_version_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_attempts INTEGER NOT NULL DEFAULT 0,
+    processed_attempts INTEGER NOT NULL DEFAULT 0,
+    changed_attempts INTEGER NOT NULL DEFAULT 0,
+    -- Keyset cursor: every completed attempt before (last_submitted_at, last_attempt_id) has been regraded
+    last_submitted_at TIMESTAMP WITHOUT TIME ZONE NULL,
+    last_attempt_id UUID NULL,
+    -- Lease: the instance running the job renews heartbeat_at with every progress save
+    owner_id UUID NULL,
+    heartbeat_at TIMESTAMP WITHOUT TIME ZONE NULL,
+    error_message TEXT NULL,
+    created_by UUID NULL,
+    started_at TIMESTAMP WITHOUT TIME ZONE NULL,
+    finished_at TIMESTAMP WITHOUT TIME ZONE NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT fk_regrade_jobs_test FOREIGN KEY (test_id) REFERENCES tests(id) ON DELETE CASCADE,
+    CONSTRAINT fk_regrade_jobs_version FOREIGN KEY (test_version_id) REFERENCES test_versions(id) ON DELETE CASCADE,
+    CONSTRAINT fk_regrade_jobs_created_by FOREIGN KEY (created_by) REFERENCES users(id) ON DELETE SET NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_regrade_jobs_test_id ON regrade_jobs (test_id);
+CREATE INDEX IF NOT EXISTS idx_regrade_jobs_status ON regrade_jobs (status);
+
+-- Keyset paging over a test's completed attempts in submission order; extends the V13 index
+DROP INDEX IF EXISTS idx_test_attempts_test_status_submitted;
+CREATE INDEX IF NOT EXISTS idx_test_attempts_test_status_submitted_id
+    ON test_attempts (test_id, status, submitted_at, id);
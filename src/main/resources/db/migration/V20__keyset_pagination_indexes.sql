@@ -0,0 +1,18 @@
+-- Keyset pagination seeks on (sort key, id), so each sortable column gets an index ending in id
+
+-- Admin results: replaces the V13 score index, which this extends; V19 already did the same for submitted_at
+DROP INDEX IF EXISTS idx_test_attempts_test_status_score;
+
+CREATE INDEX IF NOT EXISTS idx_test_attempts_test_status_score_id
+    ON test_attempts (test_id, status, total_score, id);
+
+CREATE INDEX IF NOT EXISTS idx_test_attempts_test_status_started_id
+    ON test_attempts (test_id, status, started_at, id);
+
+-- Admin test list
+CREATE INDEX IF NOT EXISTS idx_tests_created_at_id ON tests (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tests_status_created_at_id ON tests (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tests_title_id ON tests (title, id);
+
+-- Admin user list; email is unique, so uq_users_email already serves (email, id)
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
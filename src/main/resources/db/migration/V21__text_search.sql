@@ -0,0 +1,18 @@
+-- Full-text search over the catalog and the question bank.
+-- The 'simple' configuration lowercases and splits words without stemming, since PostgreSQL ships
+-- no Azerbaijani dictionary and an English one would mangle the content.
+
+ALTER TABLE tests
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tests_search_vector ON tests USING GIN (search_vector);
+
+ALTER TABLE questions
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('simple', coalesce(question_text, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_questions_search_vector ON questions USING GIN (search_vector);
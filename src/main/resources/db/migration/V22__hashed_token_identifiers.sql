@@ -0,0 +1,17 @@
+-- Refresh tokens and revocations are looked up by a 16-byte SHA-256 prefix instead of the raw token.
+-- Revocations key on the access token's jti; rows written before jti existed keep the digest of the
+-- whole token, which is what the filter falls back to for tokens without one.
+
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS token_hash BYTEA;
+UPDATE refresh_tokens SET token_hash = substring(sha256(convert_to(token, 'UTF8')) FROM 1 FOR 16);
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+DROP INDEX IF EXISTS uq_refresh_tokens_token;
+ALTER TABLE refresh_tokens DROP COLUMN token;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+
+ALTER TABLE revoked_tokens ADD COLUMN IF NOT EXISTS token_hash BYTEA;
+UPDATE revoked_tokens SET token_hash = substring(sha256(convert_to(token, 'UTF8')) FROM 1 FOR 16);
+ALTER TABLE revoked_tokens ALTER COLUMN token_hash SET NOT NULL;
+DROP INDEX IF EXISTS uq_revoked_tokens_token;
+ALTER TABLE revoked_tokens DROP COLUMN token;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_revoked_tokens_token_hash ON revoked_tokens (token_hash);
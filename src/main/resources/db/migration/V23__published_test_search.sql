@@ -0,0 +1,14 @@
+-- Students search the published version of a test, not its live row, which may hold unpublished
+-- edits. Each frozen version gets its own search vector; the one on tests is no longer used.
+
+ALTER TABLE test_versions
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('simple', coalesce(snapshot ->> 'title', '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(snapshot ->> 'description', '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_test_versions_search_vector ON test_versions USING GIN (search_vector);
+
+DROP INDEX IF EXISTS idx_tests_search_vector;
+ALTER TABLE tests DROP COLUMN IF EXISTS search_vector;
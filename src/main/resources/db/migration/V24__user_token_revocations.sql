@@ -0,0 +1,6 @@
+-- A revocation row without a token hash revokes every access token issued to the user up to its
+-- created_at. These rows are written when an account is deleted, so they no longer cascade with
+-- the user; like the other rows they are cleaned up once expires_at has passed.
+
+ALTER TABLE revoked_tokens ALTER COLUMN token_hash DROP NOT NULL;
+ALTER TABLE revoked_tokens DROP CONSTRAINT IF EXISTS fk_revoked_tokens_user;
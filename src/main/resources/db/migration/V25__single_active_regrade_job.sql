@@ -0,0 +1,18 @@
+-- At most one unfinished regrade job per test, so two concurrent starts cannot both create one.
+-- Any duplicates left by that race are failed first, keeping the oldest job of each test.
+
+UPDATE regrade_jobs j
+SET status = 'FAILED',
+    error_message = 'Superseded by a concurrent regrade job',
+    finished_at = now(),
+    updated_at = now()
+WHERE j.status IN ('PENDING', 'RUNNING')
+  AND EXISTS (
+      SELECT 1 FROM regrade_jobs o
+      WHERE o.test_id = j.test_id
+        AND o.status IN ('PENDING', 'RUNNING')
+        AND (o.created_at, o.id) < (j.created_at, j.id)
+  );
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_regrade_jobs_active_test
+    ON regrade_jobs (test_id) WHERE status IN ('PENDING', 'RUNNING');
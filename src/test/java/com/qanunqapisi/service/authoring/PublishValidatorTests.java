@@ -0,0 +1,95 @@
+package com.qanunqapisi.service.authoring;
+
+import static com.qanunqapisi.util.ErrorMessages.ANSWER_ORDER_DUPLICATE;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_MULTIPLE_AT_LEAST_ONE;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_SINGLE_MUST_HAVE_ANSWER;
+import static com.qanunqapisi.util.ErrorMessages.CLOSED_SINGLE_ONE_CORRECT;
+import static com.qanunqapisi.util.ErrorMessages.OPEN_TEXT_REQUIRES_ANSWER;
+import static com.qanunqapisi.util.ErrorMessages.QUESTION_ORDER_DUPLICATE;
+import static com.qanunqapisi.util.ErrorMessages.TEST_DESCRIPTION_REQUIRED;
+import static com.qanunqapisi.util.ErrorMessages.TEST_NOT_PUBLISHABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.qanunqapisi.domain.Answer;
+import com.qanunqapisi.domain.Question;
+import com.qanunqapisi.dto.response.error.ErrorResponse;
+import com.qanunqapisi.exception.TestValidationException;
+import com.qanunqapisi.util.GlobalExceptionHandler;
+
+class PublishValidatorTests {
+    @Test
+    void collectsEveryViolationKeyedByQuestionPosition() {
+        com.qanunqapisi.domain.Test test = com.qanunqapisi.domain.Test.builder()
+            .title("Draft")
+            .description(" ")
+            .build();
+        Question noAnswers = question("CLOSED_SINGLE", 0, null);
+        Question twoCorrect = question("CLOSED_SINGLE", 1, null);
+        Question noneCorrect = question("CLOSED_MULTIPLE", 1, null);
+        Question noKey = question("OPEN_TEXT", 3, null);
+        Question valid = question("OPEN_TEXT", 4, "answer");
+        Map<UUID, List<Answer>> answers = Map.of(
+            twoCorrect.getId(), List.of(answer(twoCorrect, true, 0), answer(twoCorrect, true, 0)),
+            noneCorrect.getId(), List.of(answer(noneCorrect, false, 0), answer(noneCorrect, false, 1)));
+
+        Map<String, String> violations = PublishValidator.validate(test,
+            List.of(noAnswers, twoCorrect, noneCorrect, noKey, valid), answers);
+
+        assertThat(violations).containsExactly(
+            entry("description", TEST_DESCRIPTION_REQUIRED),
+            entry("questions[0].answers", CLOSED_SINGLE_MUST_HAVE_ANSWER),
+            entry("questions[1].answers", CLOSED_SINGLE_ONE_CORRECT),
+            entry("questions[1].answers.orderIndex", ANSWER_ORDER_DUPLICATE),
+            entry("questions[2].orderIndex", QUESTION_ORDER_DUPLICATE),
+            entry("questions[2].answers", CLOSED_MULTIPLE_AT_LEAST_ONE),
+            entry("questions[3].correctAnswer", OPEN_TEXT_REQUIRES_ANSWER));
+
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler()
+            .handleTestValidation(new TestValidationException(TEST_NOT_PUBLISHABLE, violations));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getMessage()).isEqualTo(TEST_NOT_PUBLISHABLE);
+        assertThat(response.getBody().getDetails()).containsExactlyEntriesOf(violations);
+    }
+
+    @Test
+    void publishableTestHasNoViolations() {
+        com.qanunqapisi.domain.Test test = com.qanunqapisi.domain.Test.builder()
+            .title("Ready")
+            .description("Ready to publish")
+            .build();
+        Question single = question("CLOSED_SINGLE", 0, null);
+
+        assertThat(PublishValidator.validate(test, List.of(single),
+            Map.of(single.getId(), List.of(answer(single, true, 0), answer(single, false, 1))))).isEmpty();
+    }
+
+    private static Question question(String type, int orderIndex, String correctAnswer) {
+        return Question.builder()
+            .id(UUID.randomUUID())
+            .questionType(type)
+            .questionText("Question " + orderIndex)
+            .score(1)
+            .orderIndex(orderIndex)
+            .correctAnswer(correctAnswer)
+            .build();
+    }
+
+    private static Answer answer(Question question, boolean correct, int orderIndex) {
+        return Answer.builder()
+            .id(UUID.randomUUID())
+            .questionId(question.getId())
+            .answerText("Answer " + orderIndex)
+            .isCorrect(correct)
+            .orderIndex(orderIndex)
+            .build();
+    }
+}
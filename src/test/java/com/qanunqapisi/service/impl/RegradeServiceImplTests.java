@@ -0,0 +1,133 @@
+package com.qanunqapisi.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.qanunqapisi.domain.TestAttempt;
+import com.qanunqapisi.domain.User;
+import com.qanunqapisi.domain.UserAnswer;
+import com.qanunqapisi.dto.request.test.CreateAnswerRequest;
+import com.qanunqapisi.dto.request.test.CreateQuestionRequest;
+import com.qanunqapisi.dto.request.test.CreateTestRequest;
+import com.qanunqapisi.dto.request.test.SubmitAnswerRequest;
+import com.qanunqapisi.dto.request.test.SubmitTestRequest;
+import com.qanunqapisi.dto.request.test.UpdateTestRequest;
+import com.qanunqapisi.dto.response.admin.RegradeJobResponse;
+import com.qanunqapisi.dto.response.test.QuestionResponse;
+import com.qanunqapisi.dto.response.test.TestDetailResponse;
+import com.qanunqapisi.dto.response.test.TestResultResponse;
+import com.qanunqapisi.repository.TestAttemptRepository;
+import com.qanunqapisi.repository.TestRepository;
+import com.qanunqapisi.repository.UserAnswerRepository;
+import com.qanunqapisi.service.RegradeService;
+import com.qanunqapisi.service.TestAttemptService;
+import com.qanunqapisi.service.TestService;
+import com.qanunqapisi.service.regrade.RegradeRunner;
+import com.qanunqapisi.support.TestFixtures;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class RegradeServiceImplTests {
+    private static final long JOB_TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private TestService testService;
+
+    @Autowired
+    private TestAttemptService testAttemptService;
+
+    @Autowired
+    private RegradeService regradeService;
+
+    @Autowired
+    private TestRepository testRepository;
+
+    @Autowired
+    private TestAttemptRepository testAttemptRepository;
+
+    @Autowired
+    private UserAnswerRepository userAnswerRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.cleanUp();
+    }
+
+    @Test
+    void regradeRescoresCompletedAttemptsAgainstCorrectedKey() throws InterruptedException {
+        User admin = fixtures.signIn("ADMIN", false);
+        TestDetailResponse original = testService.createTest(new CreateTestRequest(
+            "Regrade", "Regrade test", false, IntStream.range(0, 3)
+            .mapToObj(i -> new CreateQuestionRequest("CLOSED_SINGLE", "Question " + i, 1, i, null, List.of(
+                new CreateAnswerRequest("First", true, 0, null),
+                new CreateAnswerRequest("Second", false, 1, null)), null))
+            .toList()));
+        fixtures.track(original.id());
+        testService.publishTest(original.id());
+
+        // The student picks the second answer of the first question, which the key marks wrong for now
+        fixtures.signIn("CUSTOMER", false);
+        QuestionResponse corrected = original.questions().get(0);
+        testAttemptService.startTest(original.id());
+        TestResultResponse submitted = testAttemptService.submitTest(original.id(), new SubmitTestRequest(
+            original.questions().stream()
+                .map(q -> new SubmitAnswerRequest(q.id(), List.of(q.answers().get(q == corrected ? 1 : 0).id()), null))
+                .toList()));
+        assertThat(submitted.totalScore()).isEqualTo(2);
+
+        fixtures.authenticate(admin, "ADMIN");
+        testService.updateTest(original.id(), new UpdateTestRequest(null, null, null, original.questions().stream()
+            .map(q -> new CreateQuestionRequest(q.questionType(), q.questionText(), q.score(), q.orderIndex(), null,
+                q.answers().stream()
+                    .map(a -> new CreateAnswerRequest(a.answerText(),
+                        q == corrected ? !a.isCorrect() : a.isCorrect(), a.orderIndex(), a.id()))
+                    .toList(),
+                q.id()))
+            .toList()));
+        testService.publishTest(original.id());
+
+        RegradeJobResponse job = awaitFinished(regradeService.startRegrade(original.id()));
+
+        assertThat(job.status()).isEqualTo(RegradeRunner.COMPLETED);
+        assertThat(job.totalAttempts()).isEqualTo(1);
+        assertThat(job.processedAttempts()).isEqualTo(1);
+        assertThat(job.changedAttempts()).isEqualTo(1);
+        assertThat(job.testVersionId())
+            .isEqualTo(testRepository.findById(original.id()).orElseThrow().getPublishedVersionId());
+
+        TestAttempt attempt = testAttemptRepository.findById(submitted.attemptId()).orElseThrow();
+        assertThat(attempt.getTotalScore()).isEqualTo(3);
+        assertThat(attempt.getMaxPossibleScore()).isEqualTo(3);
+        assertThat(attempt.getTestVersionId()).isEqualTo(job.testVersionId());
+
+        UserAnswer regraded = userAnswerRepository.findByTestAttemptId(submitted.attemptId()).stream()
+            .filter(answer -> answer.getQuestionId().equals(corrected.id()))
+            .findFirst()
+            .orElseThrow();
+        assertThat(regraded.getIsCorrect()).isTrue();
+        assertThat(regraded.getScoreEarned()).isEqualTo(1);
+    }
+
+    private RegradeJobResponse awaitFinished(RegradeJobResponse started) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(JOB_TIMEOUT_SECONDS);
+        RegradeJobResponse job = started;
+        while (List.of(RegradeRunner.PENDING, RegradeRunner.RUNNING).contains(job.status())
+            && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            job = regradeService.getRegradeJob(started.testId(), started.id());
+        }
+        return job;
+    }
+}
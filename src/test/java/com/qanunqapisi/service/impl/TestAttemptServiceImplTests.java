@@ -0,0 +1,72 @@
+package com.qanunqapisi.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.qanunqapisi.dto.request.test.SubmitAnswerRequest;
+import com.qanunqapisi.dto.request.test.SubmitTestRequest;
+import com.qanunqapisi.repository.AnswerRepository;
+import com.qanunqapisi.repository.QuestionRepository;
+import com.qanunqapisi.service.TestAttemptService;
+import com.qanunqapisi.support.TestFixtures;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestFixtures.class)
+class TestAttemptServiceImplTests {
+    @Autowired
+    private TestAttemptService testAttemptService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.cleanUp();
+    }
+
+    @Test
+    void submitTestUsesConstantNumberOfStatements() {
+        fixtures.signIn("CUSTOMER", true);
+
+        long smallTestStatements = countSubmitStatements(10);
+        long largeTestStatements = countSubmitStatements(100);
+
+        assertThat(largeTestStatements).isEqualTo(smallTestStatements);
+    }
+
+    private long countSubmitStatements(int questionCount) {
+        com.qanunqapisi.domain.Test test = fixtures.createPublishedTest(questionCount);
+        List<SubmitAnswerRequest> answers = questionRepository.findByTestIdOrderByOrderIndex(test.getId()).stream()
+            .map(question -> new SubmitAnswerRequest(
+                question.getId(),
+                List.of(answerRepository.findByQuestionIdAndIsCorrect(question.getId(), true).get(0).getId()),
+                null))
+            .toList();
+        testAttemptService.startTest(test.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        testAttemptService.submitTest(test.getId(), new SubmitTestRequest(answers));
+        return statistics.getPrepareStatementCount();
+    }
+}
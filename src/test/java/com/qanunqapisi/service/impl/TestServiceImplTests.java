@@ -0,0 +1,161 @@
+package com.qanunqapisi.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.qanunqapisi.dto.request.test.CreateAnswerRequest;
+import com.qanunqapisi.dto.request.test.CreateQuestionRequest;
+import com.qanunqapisi.dto.request.test.CreateTestRequest;
+import com.qanunqapisi.dto.request.test.SubmitAnswerRequest;
+import com.qanunqapisi.dto.request.test.SubmitTestRequest;
+import com.qanunqapisi.dto.request.test.UpdateTestRequest;
+import com.qanunqapisi.dto.response.test.AnswerResponse;
+import com.qanunqapisi.dto.response.test.QuestionResponse;
+import com.qanunqapisi.dto.response.test.QuestionResultResponse;
+import com.qanunqapisi.dto.response.test.TestDetailResponse;
+import com.qanunqapisi.dto.response.test.TestResultResponse;
+import com.qanunqapisi.repository.AnswerRepository;
+import com.qanunqapisi.repository.QuestionRepository;
+import com.qanunqapisi.service.TestAttemptService;
+import com.qanunqapisi.service.TestService;
+import com.qanunqapisi.service.authoring.QuestionBulkWriter;
+import com.qanunqapisi.support.StatementCounter;
+import com.qanunqapisi.support.TestFixtures;
+
+@SpringBootTest
+@Import({TestFixtures.class, StatementCounter.class})
+class TestServiceImplTests {
+    private static final int LARGE_TEST_QUESTIONS = 1000;
+    private static final int ANSWERS_PER_QUESTION = 4;
+
+    @Autowired
+    private TestService testService;
+
+    @Autowired
+    private TestAttemptService testAttemptService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.cleanUp();
+    }
+
+    @Test
+    void createTestWritesQuestionsInBulk() {
+        fixtures.signIn("ADMIN", false);
+
+        long smallTestExecutions = statementCounter.count(() -> createTest(10));
+
+        List<TestDetailResponse> created = new ArrayList<>();
+        long largeTestExecutions = statementCounter.count(() -> created.add(createTest(LARGE_TEST_QUESTIONS)));
+        TestDetailResponse largeTest = created.get(0);
+
+        // Every row goes in a batch, so a larger test only adds a round trip per full batch beyond the first
+        int extraBatches = Math.ceilDiv(LARGE_TEST_QUESTIONS, QuestionBulkWriter.BATCH_SIZE) - 1
+            + Math.ceilDiv(LARGE_TEST_QUESTIONS * ANSWERS_PER_QUESTION, QuestionBulkWriter.BATCH_SIZE) - 1;
+        assertThat(largeTestExecutions).isEqualTo(smallTestExecutions + extraBatches);
+        assertThat(largeTest.questionCount()).isEqualTo(LARGE_TEST_QUESTIONS);
+        assertThat(largeTest.questions()).hasSize(LARGE_TEST_QUESTIONS);
+        assertThat(questionRepository.countByTestId(largeTest.id())).isEqualTo(LARGE_TEST_QUESTIONS);
+        assertThat(answerRepository.findByQuestionIdInOrderByQuestionIdAndOrderIndex(
+            largeTest.questions().stream().map(QuestionResponse::id).toList()))
+            .hasSize(LARGE_TEST_QUESTIONS * ANSWERS_PER_QUESTION);
+    }
+
+    @Test
+    void updateTestKeepsMatchedRowsAndPinsCompletedAttempts() {
+        fixtures.signIn("ADMIN", false);
+
+        TestDetailResponse original = createTest(3);
+        testService.publishTest(original.id());
+        testAttemptService.startTest(original.id());
+        TestResultResponse submitted = testAttemptService.submitTest(original.id(), new SubmitTestRequest(
+            original.questions().stream()
+                .map(q -> new SubmitAnswerRequest(q.id(), List.of(q.answers().get(0).id()), null))
+                .toList()));
+
+        QuestionResponse kept = original.questions().get(0);
+        QuestionResponse edited = original.questions().get(1);
+        TestDetailResponse updated = testService.updateTest(original.id(), new UpdateTestRequest(null, null, null, List.of(
+            // Matched by ID and unchanged
+            new CreateQuestionRequest(kept.questionType(), kept.questionText(), kept.score(), 0, null,
+                answerRequests(), kept.id()),
+            // Matched by order index and reworded
+            new CreateQuestionRequest("CLOSED_SINGLE", "Reworded question", 1, 1, null, answerRequests(), null),
+            // Replaces the third question, which is dropped
+            new CreateQuestionRequest("OPEN_TEXT", "New question", 2, 2, "Answer", null, null))));
+
+        assertThat(updated.questions()).extracting(QuestionResponse::id)
+            .startsWith(kept.id(), edited.id())
+            .doesNotContain(original.questions().get(2).id());
+        assertThat(updated.questions().get(0).answers()).extracting(AnswerResponse::id)
+            .containsExactlyElementsOf(kept.answers().stream().map(AnswerResponse::id).toList());
+        assertThat(updated.totalPossibleScore()).isEqualTo(4);
+
+        // The earlier attempt still shows the content it was graded against
+        TestResultResponse result = testAttemptService.getAttemptResults(submitted.attemptId());
+        assertThat(result.totalScore()).isEqualTo(3);
+        assertThat(result.questionResults()).extracting(QuestionResultResponse::questionText)
+            .containsExactly("Question 0", "Question 1", "Question 2");
+    }
+
+    @Test
+    void editsReachStudentsOnlyAfterRepublishing() {
+        fixtures.signIn("ADMIN", false);
+
+        TestDetailResponse original = createTest(2);
+        testService.publishTest(original.id());
+
+        TestDetailResponse draft = testService.updateTest(original.id(), new UpdateTestRequest("Renamed", null, null, null));
+        assertThat(draft.hasUnpublishedChanges()).isTrue();
+        assertThat(testService.getTestForUser(original.id()).title()).isEqualTo(original.title());
+
+        TestDetailResponse republished = testService.publishTest(original.id());
+        assertThat(republished.hasUnpublishedChanges()).isFalse();
+        assertThat(testService.getTestForUser(original.id()).title()).isEqualTo("Renamed");
+    }
+
+    private TestDetailResponse createTest(int questionCount) {
+        List<CreateQuestionRequest> questions = IntStream.range(0, questionCount)
+            .mapToObj(i -> new CreateQuestionRequest(
+                "CLOSED_SINGLE",
+                "Question " + i,
+                1,
+                i,
+                null,
+                answerRequests(),
+                null))
+            .toList();
+
+        TestDetailResponse test = testService.createTest(
+            new CreateTestRequest("Bulk " + questionCount, "Bulk creation test", false, questions));
+        fixtures.track(test.id());
+        return test;
+    }
+
+    private List<CreateAnswerRequest> answerRequests() {
+        return IntStream.range(0, ANSWERS_PER_QUESTION)
+            .mapToObj(j -> new CreateAnswerRequest("Answer " + j, j == 0, j, null))
+            .toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.qanunqapisi.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.qanunqapisi.dto.request.test.CreateAnswerRequest;
+import com.qanunqapisi.dto.request.test.CreateQuestionRequest;
+import com.qanunqapisi.dto.request.test.CreateTestRequest;
+import com.qanunqapisi.dto.response.admin.TestImportResponse;
+import com.qanunqapisi.dto.response.test.QuestionResponse;
+import com.qanunqapisi.dto.response.test.TestDetailResponse;
+import com.qanunqapisi.service.TestService;
+import com.qanunqapisi.service.TestTransferService;
+import com.qanunqapisi.support.TestFixtures;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class TestTransferServiceImplTests {
+    @Autowired
+    private TestService testService;
+
+    @Autowired
+    private TestTransferService testTransferService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.cleanUp();
+    }
+
+    @Test
+    void exportedTestImportsAsIdenticalDraft() throws IOException {
+        fixtures.signIn("ADMIN", false);
+        TestDetailResponse original = testService.createTest(new CreateTestRequest(
+            "Transfer", "Round trip", true, IntStream.range(0, 3)
+            .mapToObj(i -> new CreateQuestionRequest("CLOSED_SINGLE", "Question " + i, i + 1, i, null, List.of(
+                new CreateAnswerRequest("Correct", true, 0, null),
+                new CreateAnswerRequest("Wrong", false, 1, null)), null))
+            .toList()));
+        fixtures.track(original.id());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        testTransferService.exportTest(original.id()).writeTo(out);
+        byte[] export = out.toByteArray();
+
+        // One test line and one line per question, each a bare JSON object
+        List<String> lines = new String(export, StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(1)).startsWith("{");
+        assertThat(lines).allMatch(line -> line.startsWith("{\"type\":"));
+
+        TestImportResponse imported = testTransferService.importTests(new ByteArrayInputStream(export));
+        imported.testIds().forEach(fixtures::track);
+
+        assertThat(imported.testIds()).hasSize(1);
+        assertThat(imported.questionsImported()).isEqualTo(3);
+        assertThat(imported.answersImported()).isEqualTo(6);
+
+        TestDetailResponse copy = testService.getTest(imported.testIds().get(0));
+        assertThat(copy.title()).isEqualTo(original.title());
+        assertThat(copy.description()).isEqualTo(original.description());
+        assertThat(copy.isPremium()).isTrue();
+        assertThat(copy.status()).isEqualTo("DRAFT");
+        assertThat(copy.questions()).extracting(QuestionResponse::questionText, QuestionResponse::score)
+            .containsExactlyElementsOf(original.questions().stream()
+                .map(q -> tuple(q.questionText(), q.score()))
+                .toList());
+    }
+}
@@ -0,0 +1,83 @@
+package com.qanunqapisi.service.scoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.qanunqapisi.config.scoring.ScoringProperties;
+import com.qanunqapisi.config.scoring.ScoringProperties.MultipleChoiceMode;
+import com.qanunqapisi.dto.response.test.AnswerResponse;
+
+class MultipleChoiceScorerTests {
+    @Test
+    void proportionalRoundsPartialCreditToNearestPoint() {
+        CompiledQuestion question = question(1, 3, 1);
+        List<UUID> correct = question.correctAnswerIds();
+        UUID wrong = question.answers().get(3).id();
+
+        assertThat(score(MultipleChoiceMode.PROPORTIONAL, question, correct.subList(0, 1))).isZero();
+        assertThat(score(MultipleChoiceMode.PROPORTIONAL, question, correct.subList(0, 2))).isEqualTo(1);
+        assertThat(score(MultipleChoiceMode.PROPORTIONAL, question, correct)).isEqualTo(1);
+        assertThat(score(MultipleChoiceMode.PROPORTIONAL, question, List.of(correct.get(0), correct.get(1), wrong)))
+            .isZero();
+    }
+
+    @Test
+    void halfCreditRoundsUp() {
+        CompiledQuestion question = question(1, 2, 1);
+
+        assertThat(score(MultipleChoiceMode.PROPORTIONAL, question, question.correctAnswerIds().subList(0, 1)))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void penaltyCancelsOneCorrectPickPerWrongPick() {
+        CompiledQuestion question = question(4, 3, 2);
+        List<UUID> correct = question.correctAnswerIds();
+        UUID wrong = question.answers().get(3).id();
+        UUID otherWrong = question.answers().get(4).id();
+
+        // 4 * 2/3 = 2.67
+        assertThat(score(MultipleChoiceMode.PENALTY, question, List.of(correct.get(0), correct.get(1), correct.get(2), wrong)))
+            .isEqualTo(3);
+        // 4 * 1/3 = 1.33
+        assertThat(score(MultipleChoiceMode.PENALTY, question, List.of(correct.get(0), correct.get(1), wrong)))
+            .isEqualTo(1);
+        assertThat(score(MultipleChoiceMode.PENALTY, question, List.of(correct.get(0), wrong, otherWrong))).isZero();
+    }
+
+    @Test
+    void allOrNothingGivesNoPartialCredit() {
+        CompiledQuestion question = question(1, 2, 1);
+
+        assertThat(score(MultipleChoiceMode.ALL_OR_NOTHING, question, question.correctAnswerIds().subList(0, 1))).isZero();
+        assertThat(score(MultipleChoiceMode.ALL_OR_NOTHING, question, question.correctAnswerIds())).isEqualTo(1);
+    }
+
+    private static int score(MultipleChoiceMode mode, CompiledQuestion question, List<UUID> selectedAnswerIds) {
+        ScoringProperties properties = new ScoringProperties();
+        properties.setClosedMultipleMode(mode);
+        return new MultipleChoiceScorer(properties).score(question, selectedAnswerIds, null);
+    }
+
+    private static CompiledQuestion question(int score, int correctAnswers, int wrongAnswers) {
+        List<AnswerResponse> answers = new ArrayList<>();
+        List<UUID> correctIds = new ArrayList<>();
+        long correctMask = 0L;
+        for (int a = 0; a < correctAnswers + wrongAnswers; a++) {
+            boolean correct = a < correctAnswers;
+            UUID answerId = UUID.randomUUID();
+            answers.add(new AnswerResponse(answerId, "Answer " + a, correct, a));
+            if (correct) {
+                correctIds.add(answerId);
+                correctMask |= 1L << a;
+            }
+        }
+        return new CompiledQuestion(UUID.randomUUID(), "CLOSED_MULTIPLE", "Question", score, 0,
+            null, List.copyOf(answers), List.copyOf(correctIds), correctMask, null);
+    }
+}
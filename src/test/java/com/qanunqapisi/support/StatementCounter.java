@@ -0,0 +1,82 @@
+package com.qanunqapisi.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+
+/**
+ * Counts the statement executions that reach the JDBC driver, including those issued through
+ * {@code JdbcTemplate} that Hibernate statistics never see. Each execute call is one round trip to the
+ * database; a batch is sent by a single {@code executeBatch}. Only the thread inside {@link #count(Runnable)}
+ * is counted, so background jobs do not disturb the result.
+ */
+@TestComponent
+public class StatementCounter implements BeanPostProcessor {
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<Class<?>> PROXIED_TYPES = Set.of(
+        Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class);
+
+    private final ThreadLocal<long[]> executions = new ThreadLocal<>();
+
+    public long count(Runnable action) {
+        long[] count = new long[1];
+        executions.set(count);
+        try {
+            action.run();
+        } finally {
+            executions.remove();
+        }
+        return count[0];
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource) : bean;
+    }
+
+    private <T> T proxy(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> invoke(proxy, target, method, args)));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            default -> {
+            }
+        }
+        if (EXECUTE_METHODS.contains(method.getName())) {
+            long[] count = executions.get();
+            if (count != null) {
+                count[0]++;
+            }
+        }
+
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        // Statements are reached through the connection, so both are wrapped as they are handed out
+        Class<?> returnType = method.getReturnType();
+        return result != null && PROXIED_TYPES.contains(returnType) ? proxy((Class) returnType, result) : result;
+    }
+}
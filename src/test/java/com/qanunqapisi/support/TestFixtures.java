@@ -0,0 +1,137 @@
+package com.qanunqapisi.support;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.qanunqapisi.config.jwt.AuthenticatedUser;
+import com.qanunqapisi.domain.Answer;
+import com.qanunqapisi.domain.Question;
+import com.qanunqapisi.domain.Role;
+import com.qanunqapisi.domain.Test;
+import com.qanunqapisi.domain.User;
+import com.qanunqapisi.repository.AnswerRepository;
+import com.qanunqapisi.repository.QuestionRepository;
+import com.qanunqapisi.repository.RoleRepository;
+import com.qanunqapisi.repository.TestRepository;
+import com.qanunqapisi.repository.UserRepository;
+import com.qanunqapisi.service.TestService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Users and tests for integration tests. Everything created here, or registered with {@link #track(UUID)},
+ * is removed by {@link #cleanUp()}, which suites call from an {@code @AfterEach} method.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class TestFixtures {
+    private final TestService testService;
+    private final TestRepository testRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+
+    private final List<UUID> testIds = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+
+    public User createUser(String role, boolean premium) {
+        Role userRole = roleRepository.findByTitle(role).orElseThrow();
+        User user = userRepository.save(User.builder()
+            .roleId(userRole.getId())
+            .email(role.toLowerCase() + "-" + UUID.randomUUID() + "@example.com")
+            .passwordHash("unused")
+            .firstName("Test")
+            .lastName("User")
+            .isActive(true)
+            .isPremium(premium)
+            .isVerified(true)
+            .failedLoginAttempts(0)
+            .verificationAttempts(0)
+            .pendingEmailAttempts(0)
+            .passwordResetAttempts(0)
+            .build());
+        users.add(user);
+        return user;
+    }
+
+    /**
+     * Creates a user with the role and authenticates the current thread as them.
+     */
+    public User signIn(String role, boolean premium) {
+        User user = createUser(role, premium);
+        authenticate(user, role);
+        return user;
+    }
+
+    public void authenticate(User user, String role) {
+        AuthenticatedUser principal = AuthenticatedUser.of(user, role);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    /**
+     * Saves a published test directly through the repositories, with one correct and one wrong answer per
+     * CLOSED_SINGLE question. No version is frozen, so attempts are graded against the live rows.
+     */
+    public Test createPublishedTest(int questionCount) {
+        Test test = testRepository.save(Test.builder()
+            .title("Fixture " + questionCount)
+            .description("Fixture test")
+            .isPremium(false)
+            .status("PUBLISHED")
+            .questionCount(questionCount)
+            .totalPossibleScore(questionCount)
+            .closedSingleCount(questionCount)
+            .closedMultipleCount(0)
+            .openTextCount(0)
+            .publishedAt(LocalDateTime.now())
+            .hasUnpublishedChanges(false)
+            .build());
+        track(test.getId());
+
+        for (int i = 0; i < questionCount; i++) {
+            Question question = questionRepository.save(Question.builder()
+                .testId(test.getId())
+                .questionType("CLOSED_SINGLE")
+                .questionText("Question " + i)
+                .score(1)
+                .orderIndex(i)
+                .build());
+            answerRepository.save(Answer.builder()
+                .questionId(question.getId())
+                .answerText("Correct")
+                .isCorrect(true)
+                .orderIndex(0)
+                .build());
+            answerRepository.save(Answer.builder()
+                .questionId(question.getId())
+                .answerText("Wrong")
+                .isCorrect(false)
+                .orderIndex(1)
+                .build());
+        }
+        return test;
+    }
+
+    /**
+     * Registers a test created through the services for deletion in {@link #cleanUp()}.
+     */
+    public void track(UUID testId) {
+        testIds.add(testId);
+    }
+
+    public void cleanUp() {
+        SecurityContextHolder.clearContext();
+        testIds.forEach(testService::deleteTest);
+        testIds.clear();
+        userRepository.deleteAll(users);
+        users.clear();
+    }
+}